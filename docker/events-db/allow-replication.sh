@@ -0,0 +1,3 @@
+#!/bin/sh
+# Replication connections from other containers, as the image only allows them locally
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
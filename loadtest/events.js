@@ -0,0 +1,72 @@
+// k6 load test for the events API.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MAX_VUS=5000 loadtest/events.js
+//
+// Ramps the number of concurrent clients up to MAX_VUS, each doing a mix of reads and writes.
+// Run it once with virtual threads (default) and once with SPRING_THREADS_VIRTUAL_ENABLED=false
+// to compare how throughput scales.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = `${__ENV.BASE_URL || 'http://localhost:8080'}/api/v1/events`;
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '5000');
+const STEP = __ENV.STEP_DURATION || '30s';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: STEP, target: Math.floor(MAX_VUS / 10) },
+                { duration: STEP, target: Math.floor(MAX_VUS / 4) },
+                { duration: STEP, target: Math.floor(MAX_VUS / 2) },
+                { duration: STEP, target: MAX_VUS },
+                { duration: STEP, target: MAX_VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:get}': ['p(95)<500'],
+    },
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export function setup() {
+    const events = [];
+    for (let i = 0; i < 500; i++) {
+        events.push(newEvent(i));
+    }
+    const res = http.post(`${BASE_URL}/batch`, JSON.stringify(events), JSON_HEADERS);
+    check(res, { 'seeded': (r) => r.status === 200 });
+    return { ids: res.json('items').map((item) => item.id) };
+}
+
+export default function (data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const roll = Math.random();
+
+    if (roll < 0.6) {
+        const res = http.get(`${BASE_URL}/${id}`, { tags: { name: 'get' } });
+        check(res, { 'get 200': (r) => r.status === 200 });
+    } else if (roll < 0.8) {
+        const res = http.get(`${BASE_URL}?size=50`, { tags: { name: 'list' } });
+        check(res, { 'list 200': (r) => r.status === 200 });
+    } else if (roll < 0.9) {
+        const res = http.post(BASE_URL, JSON.stringify(newEvent(__VU)), { ...JSON_HEADERS, tags: { name: 'create' } });
+        check(res, { 'create 201': (r) => r.status === 201 });
+    } else {
+        const res = http.patch(`${BASE_URL}/${id}`, JSON.stringify({ name: `Load test ${__ITER}` }),
+            { headers: { 'Content-Type': 'application/merge-patch+json' }, tags: { name: 'patch' } });
+        check(res, { 'patch 200': (r) => r.status === 200 });
+    }
+}
+
+function newEvent(i) {
+    const date = new Date(Date.now() + 30 * 24 * 3600 * 1000).toISOString().slice(0, 16);
+    return { name: `Load test ${i}`, description: `Event created by the load test ${i}`, date };
+}
@@ -0,0 +1,38 @@
+// k6 load test for the connection pool.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=64 loadtest/pool.js
+//
+// A constant number of clients doing reads that always reach the database (keyset pages from random
+// positions and searches), so requests per second depend on the pool and not on the caches. Run it once
+// with the pool fixed (EVENTS_POOL_TUNING_ENABLED=false) and once with EVENTS_POOL_TUNING_ADJUST=true
+// to compare throughput before and after the tuner settles.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = `${__ENV.BASE_URL || 'http://localhost:8080'}/api/v1/events`;
+const VUS = parseInt(__ENV.VUS || '64');
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    if (Math.random() < 0.33) {
+        const page = Math.floor(Math.random() * 20);
+        const res = http.get(`${BASE_URL}/search?name=Event&page=${page}&size=20`, { tags: { name: 'search' } });
+        check(res, { 'search 200': (r) => r.status === 200 });
+    } else {
+        const after = Math.floor(Math.random() * 1_000_000);
+        const res = http.get(`${BASE_URL}?after=${after}&size=20`, { tags: { name: 'list' } });
+        check(res, { 'list 200': (r) => r.status === 200 });
+    }
+}
@@ -2,8 +2,10 @@ package ar.edu.palermo.devops.tp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TpApplication {
 
 	public static void main(String[] args) {
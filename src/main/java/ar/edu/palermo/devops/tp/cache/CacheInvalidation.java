@@ -0,0 +1,16 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import java.util.Set;
+
+/**
+ * What a node does with the invalidations received from the others.
+ */
+public interface CacheInvalidation {
+
+    void evict(Set<Long> eventIds);
+
+    /**
+     * Called when invalidations may have been missed, e.g. after the listener reconnects.
+     */
+    void evictAll();
+}
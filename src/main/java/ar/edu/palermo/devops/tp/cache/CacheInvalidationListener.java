@@ -0,0 +1,165 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Listens for the invalidations of the other nodes on a connection of its own, outside the pool, from a
+ * virtual thread. Notifications that arrive together are applied as one eviction.
+ * <p>
+ * Postgres does not keep notifications for a listener that is not connected, so after a reconnect the
+ * whole cache is invalidated.
+ */
+@Slf4j
+public class CacheInvalidationListener implements SmartLifecycle {
+    // Tells the listener sessions apart in pg_stat_activity
+    public static final String APPLICATION_NAME = "events-cache-listener";
+
+    // Also how often an idle connection is checked, a dead one would otherwise go unnoticed
+    private static final int POLL_MILLIS = 10_000;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String channel;
+
+    private final String node;
+
+    private final Duration reconnectDelay;
+
+    private final CacheInvalidation invalidation;
+
+    private volatile boolean running;
+
+    private volatile Thread thread;
+
+    private volatile Connection connection;
+
+    public CacheInvalidationListener(String url, String username, String password, String channel, String node,
+                                     Duration reconnectDelay, CacheInvalidation invalidation) {
+        Assert.isTrue(channel.matches("[a-z_][a-z0-9_]*"), "channel must be a lowercase identifier");
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.node = node;
+        this.reconnectDelay = reconnectDelay;
+        this.invalidation = invalidation;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofVirtual().name("cache-invalidation-listener").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        Thread listener = thread;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Only once listening, so nothing sent in between is missed
+                if (connectedBefore) {
+                    invalidation.evictAll();
+                }
+                connectedBefore = true;
+                listen(listening.unwrap(PGConnection.class), listening);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {}", reconnectDelay, e);
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    private void listen(PGConnection notifications, Connection listening) throws SQLException {
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+            if (received == null || received.length == 0) {
+                if (!listening.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                continue;
+            }
+            Set<Long> ids = new HashSet<>();
+            boolean all = false;
+            for (PGNotification notification : received) {
+                InvalidationMessage message = InvalidationMessage.parse(notification.getParameter());
+                // This node already applied its own changes
+                if (!node.equals(message.node())) {
+                    ids.addAll(message.eventIds());
+                    all |= message.all();
+                }
+            }
+            if (all) {
+                invalidation.evictAll();
+            } else if (!ids.isEmpty()) {
+                invalidation.evict(ids);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        if (username != null) {
+            info.setProperty("user", username);
+        }
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+        info.setProperty("ApplicationName", APPLICATION_NAME);
+        return DriverManager.getConnection(url, info);
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Closing only to wake the listener up
+            }
+        }
+    }
+}
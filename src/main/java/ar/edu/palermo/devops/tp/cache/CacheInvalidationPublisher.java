@@ -0,0 +1,71 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Sends the ids changed by a transaction to the other nodes with a single NOTIFY, issued just before the commit.
+ * Postgres holds notifications until the transaction commits and drops them if it rolls back, so the other nodes
+ * only hear about committed changes, and never before they can read them.
+ */
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String channel;
+
+    private final String node;
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, String channel, String node) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.node = node;
+    }
+
+    @EventListener
+    public void on(EventChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(Set.of(change.eventId()));
+            return;
+        }
+        // Coalesced per transaction: a batch request sends its ids together, each one once
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> ids = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(ids);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CacheInvalidationPublisher.this);
+                }
+            });
+            pending = ids;
+        }
+        pending.add(change.eventId());
+    }
+
+    // NOTIFY is delivered on commit in any case, only the changes event by event need coalescing
+    @EventListener
+    public void on(EventsImported imported) {
+        jdbcTemplate.queryForRowSet("SELECT pg_notify(?, ?)", channel, InvalidationMessage.encodeAll(node));
+    }
+
+    private void send(Set<Long> ids) {
+        for (String payload : InvalidationMessage.encode(node, ids)) {
+            jdbcTemplate.queryForRowSet("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import ar.edu.palermo.devops.tp.configuration.CacheConfig;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.service.UpcomingEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Drops what this node holds about events changed elsewhere: the {@code events} cache, the second-level cache
+ * region and the upcoming events view, which is re-read instead since it is never read from the database.
+ */
+public class EventCacheInvalidator implements CacheInvalidation {
+
+    private final Cache cache;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final UpcomingEvents upcomingEvents;
+
+    private final Counter evicted;
+
+    private final Counter evictedAll;
+
+    public EventCacheInvalidator(CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+                                 UpcomingEvents upcomingEvents, MeterRegistry meterRegistry) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.EVENTS_CACHE));
+        this.entityManagerFactory = entityManagerFactory;
+        this.upcomingEvents = upcomingEvents;
+        this.evicted = Counter.builder("events.cache.invalidations").tag("scope", "event").register(meterRegistry);
+        this.evictedAll = Counter.builder("events.cache.invalidations").tag("scope", "all").register(meterRegistry);
+    }
+
+    @Override
+    public void evict(Set<Long> eventIds) {
+        eventIds.forEach(id -> {
+            cache.evict(id);
+            entityManagerFactory.getCache().evict(Event.class, id);
+        });
+        upcomingEvents.refresh(eventIds);
+        evicted.increment(eventIds.size());
+    }
+
+    @Override
+    public void evictAll() {
+        cache.clear();
+        entityManagerFactory.getCache().evict(Event.class);
+        upcomingEvents.rebuild();
+        evictedAll.increment();
+    }
+}
@@ -0,0 +1,56 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NOTIFY payload: the sending node and the ids it changed, as {@code node:id,id,...}, or {@code node:*} when
+ * it changed too many events to list.
+ *
+ * @param eventIds empty when {@code all} is set
+ */
+record InvalidationMessage(String node, Set<Long> eventIds, boolean all) {
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final String ALL = "*";
+
+    /**
+     * One payload per chunk of ids that fits in a notification.
+     */
+    static List<String> encode(String node, Collection<Long> eventIds) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(node).append(':');
+        for (Long id : eventIds) {
+            String item = id.toString();
+            if (payload.length() + item.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.substring(0, payload.length() - 1));
+                payload.setLength(node.length() + 1);
+            }
+            payload.append(item).append(',');
+        }
+        if (!eventIds.isEmpty()) {
+            payloads.add(payload.substring(0, payload.length() - 1));
+        }
+        return payloads;
+    }
+
+    static String encodeAll(String node) {
+        return node + ':' + ALL;
+    }
+
+    static InvalidationMessage parse(String payload) {
+        int separator = payload.indexOf(':');
+        if (payload.substring(separator + 1).equals(ALL)) {
+            return new InvalidationMessage(payload.substring(0, separator), Set.of(), true);
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String id : payload.substring(separator + 1).split(",")) {
+            ids.add(Long.valueOf(id));
+        }
+        return new InvalidationMessage(payload.substring(0, separator), ids, false);
+    }
+}
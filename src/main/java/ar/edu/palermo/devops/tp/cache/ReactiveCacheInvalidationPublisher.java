@@ -0,0 +1,36 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * {@link CacheInvalidationPublisher} for the reactive variant, which shares the database with the servlet nodes.
+ * The NOTIFY has to be issued on the connection of the write's transaction, so it is delivered on its commit; the
+ * reactive node caches nothing and only sends.
+ */
+public class ReactiveCacheInvalidationPublisher {
+
+    private final DatabaseClient databaseClient;
+
+    private final String channel;
+
+    private final String node;
+
+    public ReactiveCacheInvalidationPublisher(DatabaseClient databaseClient, String channel, String node) {
+        this.databaseClient = databaseClient;
+        this.channel = channel;
+        this.node = node;
+    }
+
+    public Mono<Void> publish(Collection<Long> eventIds) {
+        return Flux.fromIterable(InvalidationMessage.encode(node, eventIds))
+                .concatMap(payload -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                        .bind("channel", channel)
+                        .bind("payload", payload)
+                        .then())
+                .then();
+    }
+}
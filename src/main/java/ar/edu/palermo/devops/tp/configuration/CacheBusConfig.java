@@ -0,0 +1,52 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.cache.CacheInvalidationListener;
+import ar.edu.palermo.devops.tp.cache.CacheInvalidationPublisher;
+import ar.edu.palermo.devops.tp.cache.EventCacheInvalidator;
+import ar.edu.palermo.devops.tp.service.UpcomingEvents;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Keeps the caches of several nodes coherent: each node notifies the ids it changes on a Postgres channel and
+ * evicts the ids the other nodes notify.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "events.cache-bus", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheBusConfig {
+
+    // Only tells a node its own notifications apart, so a new one on every start is enough
+    private final String node = UUID.randomUUID().toString();
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(JdbcTemplate jdbcTemplate, EventsProperties properties) {
+        return new CacheInvalidationPublisher(jdbcTemplate, properties.cacheBus().channel(), node);
+    }
+
+    @Bean
+    public EventCacheInvalidator eventCacheInvalidator(CacheManager cacheManager,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       UpcomingEvents upcomingEvents, MeterRegistry meterRegistry) {
+        return new EventCacheInvalidator(cacheManager, entityManagerFactory, upcomingEvents, meterRegistry);
+    }
+
+    // LISTEN needs a session of its own for as long as the node runs, so it does not take a pooled connection
+    @Bean
+    public CacheInvalidationListener cacheInvalidationListener(DataSourceProperties dataSource,
+                                                               EventCacheInvalidator invalidator,
+                                                               EventsProperties properties) {
+        EventsProperties.CacheBus cacheBus = properties.cacheBus();
+        return new CacheInvalidationListener(dataSource.determineUrl(), dataSource.determineUsername(),
+                dataSource.determinePassword(), cacheBus.channel(), node, cacheBus.reconnectDelay(), invalidator);
+    }
+}
@@ -0,0 +1,13 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Runs outside the transaction advice, so cache puts and evictions happen after commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String EVENTS_CACHE = "events";
+}
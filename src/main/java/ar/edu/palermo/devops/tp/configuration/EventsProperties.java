@@ -0,0 +1,172 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "events")
+public record EventsProperties(
+        @DefaultValue Pagination pagination,
+        @DefaultValue Batch batch,
+        @DefaultValue Changes changes,
+        @DefaultValue Outbox outbox,
+        @DefaultValue Upcoming upcoming,
+        @DefaultValue CacheBus cacheBus,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue LoadShedding loadShedding,
+        @DefaultValue BulkImport bulkImport,
+        @DefaultValue ReadReplica readReplica,
+        @DefaultValue PoolTuning poolTuning,
+        @DefaultValue Idempotency idempotency
+) {
+
+    public record Pagination(
+            @DefaultValue("50") int defaultSize,
+            @DefaultValue("500") int maxSize
+    ) {}
+
+    public record Batch(
+            @DefaultValue("1000") int maxSize
+    ) {}
+
+    /**
+     * @param bufferSize changes kept for subscribers that fall behind, rounded up to a power of two
+     * @param heartbeat  idle time after which a comment is sent, so closed connections are noticed
+     */
+    public record Changes(
+            @DefaultValue("4096") int bufferSize,
+            @DefaultValue("15s") Duration heartbeat
+    ) {}
+
+    /**
+     * @param enabled      writes event changes to the outbox table and dispatches them
+     * @param batchSize    rows locked, published and deleted per dispatcher transaction
+     * @param pollInterval delay between the end of one drain of the outbox and the next
+     * @param sink         {@code in-process} or {@code file}
+     * @param file         file the {@code file} sink appends to, one JSON change per line
+     */
+    public record Outbox(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("1s") Duration pollInterval,
+            @DefaultValue("in-process") String sink,
+            @DefaultValue("event-changes.jsonl") Path file
+    ) {}
+
+    /**
+     * @param evictionInterval delay between sweeps that drop started events from the upcoming view
+     */
+    public record Upcoming(
+            @DefaultValue("1m") Duration evictionInterval
+    ) {}
+
+    /**
+     * @param enabled        notifies the events changed by this node and evicts those changed by the others
+     * @param channel        Postgres channel shared by all the nodes
+     * @param reconnectDelay delay before the listener reconnects after losing its connection
+     */
+    public record CacheBus(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("events") String channel,
+            @DefaultValue("5s") Duration reconnectDelay
+    ) {}
+
+    /**
+     * Token buckets per client, one for reads (GET, HEAD) and one for writes. A bucket holds up to its burst in
+     * tokens and gains its rate in tokens per second; each request takes one.
+     *
+     * @param clientHeader header that identifies a client, the remote address is used without it
+     * @param maxClients   buckets kept at most, the least recently used are dropped first
+     */
+    public record RateLimit(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("X-API-Key") String clientHeader,
+            @DefaultValue("100000") int maxClients,
+            @DefaultValue("200") int readBurst,
+            @DefaultValue("100") double readRate,
+            @DefaultValue("50") int writeBurst,
+            @DefaultValue("20") double writeRate
+    ) {}
+
+    /**
+     * @param maxConnectionWait  mean wait for a database connection above which the service is overloaded
+     * @param maxLatency         p99 latency of the admitted requests above which the service is overloaded
+     * @param evaluationInterval how often both are checked and the share of rejected requests adjusted
+     */
+    public record LoadShedding(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100ms") Duration maxConnectionWait,
+            @DefaultValue("1s") Duration maxLatency,
+            @DefaultValue("1s") Duration evaluationInterval
+    ) {}
+
+    /**
+     * @param maxRejections rejected rows listed in the result of an import, the rest are only counted
+     */
+    public record BulkImport(
+            @DefaultValue("1000") int maxRejections
+    ) {}
+
+    /**
+     * Read-only transactions use a streaming replica, unless it is behind or the client wrote recently.
+     *
+     * @param url                  JDBC URL of the replica; user and password default to the primary's
+     * @param connectionTimeout    wait for a replica connection before the primary is used instead
+     * @param maxLag               replay lag above which reads go to the primary
+     * @param lagCheckInterval     how often the lag is measured
+     * @param readYourWritesWindow time after a write during which the same client reads from the primary
+     */
+    public record ReadReplica(
+            @DefaultValue("false") boolean enabled,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("5") int maxPoolSize,
+            @DefaultValue("1s") Duration connectionTimeout,
+            @DefaultValue("1s") Duration maxLag,
+            @DefaultValue("1s") Duration lagCheckInterval,
+            @DefaultValue("5s") Duration readYourWritesWindow
+    ) {}
+
+    /**
+     * Sizes the primary connection pool from how busy its connections were and how long callers waited for one.
+     *
+     * @param adjust             resizes the pool to the recommendation; otherwise it is only reported
+     * @param minSize            smallest size recommended
+     * @param maxSize            largest size recommended
+     * @param targetUtilization  share of the pool's connections that should be busy on average
+     * @param evaluationInterval how often the pool is measured and the recommendation updated
+     */
+    public record PoolTuning(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("false") boolean adjust,
+            @DefaultValue("2") int minSize,
+            @DefaultValue("20") int maxSize,
+            @DefaultValue("0.75") double targetUtilization,
+            @DefaultValue("30s") Duration evaluationInterval
+    ) {}
+
+    /**
+     * Writes sent with an Idempotency-Key are executed once, and their response is replayed to the retries.
+     *
+     * @param store         {@code memory}, kept by each node, or {@code jdbc}, shared by all of them in the database
+     * @param ttl           time a response is replayed after its write completed
+     * @param maxSize       size of the responses the {@code memory} store keeps, the least recently used are dropped
+     * @param lockTimeout   time a duplicate waits for the execution in progress before getting 409; in the
+     *                      {@code jdbc} store, also the time after which the key of an unfinished execution is freed
+     * @param pollInterval  how often a duplicate checks a key another node is executing ({@code jdbc} store)
+     * @param sweepInterval how often expired keys are deleted ({@code jdbc} store)
+     */
+    public record Idempotency(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("memory") String store,
+            @DefaultValue("24h") Duration ttl,
+            @DefaultValue("32MB") DataSize maxSize,
+            @DefaultValue("30s") Duration lockTimeout,
+            @DefaultValue("100ms") Duration pollInterval,
+            @DefaultValue("10m") Duration sweepInterval
+    ) {}
+}
@@ -0,0 +1,56 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.idempotency.IdempotencyFilter;
+import ar.edu.palermo.devops.tp.idempotency.IdempotencyStore;
+import ar.edu.palermo.devops.tp.idempotency.InMemoryIdempotencyStore;
+import ar.edu.palermo.devops.tp.idempotency.JdbcIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+// Clients retry writes that timed out; with an Idempotency-Key the retry gets the first response instead of
+// creating the event again
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "events.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(EventsProperties properties) {
+        EventsProperties.Idempotency idempotency = properties.idempotency();
+        return new InMemoryIdempotencyStore(idempotency.ttl(), idempotency.maxSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.idempotency", name = "store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                                     EventsProperties properties) {
+        EventsProperties.Idempotency idempotency = properties.idempotency();
+        return new JdbcIdempotencyStore(jdbcTemplate, objectMapper, idempotency.ttl(), idempotency.lockTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.idempotency", name = "store", havingValue = "jdbc")
+    public SchedulingConfigurer idempotencyKeySweep(JdbcIdempotencyStore store, EventsProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(store::deleteExpired, properties.idempotency().sweepInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry,
+                                                                       EventsProperties properties) {
+        EventsProperties.Idempotency idempotency = properties.idempotency();
+        IdempotencyFilter filter = new IdempotencyFilter(properties.rateLimit().clientHeader(), store,
+                idempotency.lockTimeout(), idempotency.pollInterval(), objectMapper, meterRegistry);
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/events", "/api/v1/events/*");
+        return registration;
+    }
+}
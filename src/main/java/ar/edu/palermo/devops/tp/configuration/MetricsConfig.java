@@ -0,0 +1,32 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.metrics.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+// Timers along the request path: events.service (@Timed EventService), events.mapping (@Timed EventMapperImpl),
+// events.json, and Spring Data's spring.data.repository.invocations. Histograms are enabled in application.properties
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    // Tagged with the method name only, as operation; the default class and method tags repeat the timer name
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, (ProceedingJoinPoint joinPoint) -> Tags.of("operation", joinPoint.getSignature().getName()));
+    }
+
+    // Replaces the converter Spring Boot would register for the ObjectMapper
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.outbox.FileOutboxSink;
+import ar.edu.palermo.devops.tp.outbox.InProcessOutboxSink;
+import ar.edu.palermo.devops.tp.outbox.OutboxDispatcher;
+import ar.edu.palermo.devops.tp.outbox.OutboxSink;
+import ar.edu.palermo.devops.tp.outbox.OutboxWriter;
+import ar.edu.palermo.devops.tp.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "events.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxRepository, objectMapper);
+    }
+
+    @Bean
+    public OutboxDispatcher outboxDispatcher(OutboxRepository outboxRepository, OutboxSink sink,
+                                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry, EventsProperties properties) {
+        return new OutboxDispatcher(outboxRepository, sink, transactionManager, objectMapper, meterRegistry,
+                properties.outbox().batchSize());
+    }
+
+    // Fixed delay: a drain that takes longer than the interval is never overlapped by the next one
+    @Bean
+    public SchedulingConfigurer outboxSchedule(OutboxDispatcher dispatcher, EventsProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(dispatcher::drain, properties.outbox().pollInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.outbox", name = "sink", havingValue = "in-process", matchIfMissing = true)
+    public InProcessOutboxSink inProcessOutboxSink() {
+        return new InProcessOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.outbox", name = "sink", havingValue = "file")
+    public FileOutboxSink fileOutboxSink(EventsProperties properties, ObjectMapper objectMapper) throws IOException {
+        return new FileOutboxSink(properties.outbox().file(), objectMapper);
+    }
+}
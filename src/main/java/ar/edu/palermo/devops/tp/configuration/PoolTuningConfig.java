@@ -0,0 +1,49 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.jdbc.AdmissionControlDataSource;
+import ar.edu.palermo.devops.tp.jdbc.PoolTuner;
+import ar.edu.palermo.devops.tp.jdbc.PoolTuningEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Sizes the primary pool from its own meters; see PoolTuner
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "events.pool-tuning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PoolTuningConfig {
+
+    // The pool may be behind admission control and read/write routing
+    @Bean
+    public PoolTuner poolTuner(DataSource dataSource, MeterRegistry meterRegistry, EventsProperties properties)
+            throws SQLException {
+        EventsProperties.PoolTuning poolTuning = properties.poolTuning();
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        AdmissionControlDataSource admission = dataSource.isWrapperFor(AdmissionControlDataSource.class)
+                ? dataSource.unwrap(AdmissionControlDataSource.class)
+                : null;
+        return new PoolTuner(meterRegistry, pool.getHikariConfigMXBean(), admission, poolTuning.adjust(),
+                poolTuning.minSize(), poolTuning.maxSize(), poolTuning.targetUtilization(), System::nanoTime);
+    }
+
+    // The first evaluation waits a whole interval, so the startup is not taken for load
+    @Bean
+    public SchedulingConfigurer poolTuningSchedule(PoolTuner poolTuner, EventsProperties properties) {
+        Duration interval = properties.poolTuning().evaluationInterval();
+        return registrar -> registrar.addFixedDelayTask(new FixedDelayTask(poolTuner::evaluate, interval, interval));
+    }
+
+    @Bean
+    public PoolTuningEndpoint poolTuningEndpoint(PoolTuner poolTuner) {
+        return new PoolTuningEndpoint(poolTuner);
+    }
+}
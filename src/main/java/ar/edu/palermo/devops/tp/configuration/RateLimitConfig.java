@@ -0,0 +1,54 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.ratelimit.LoadShedder;
+import ar.edu.palermo.devops.tp.ratelimit.RateLimitFilter;
+import ar.edu.palermo.devops.tp.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+// Every request to the events API competes for the same few pooled connections: no client may take them all,
+// and when they run short some requests are turned away early rather than all of them served late
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LoadShedder loadShedder(MeterRegistry meterRegistry, EventsProperties properties) {
+        EventsProperties.LoadShedding loadShedding = properties.loadShedding();
+        return new LoadShedder(meterRegistry, loadShedding.maxConnectionWait(), loadShedding.maxLatency(),
+                loadShedding.evaluationInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "events.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SchedulingConfigurer loadSheddingSchedule(LoadShedder loadShedder, EventsProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(loadShedder::evaluate, properties.loadShedding().evaluationInterval());
+    }
+
+    // Registered after the observation filter, so rejected requests are still counted in http.server.requests
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ObjectProvider<LoadShedder> loadShedder,
+                                                                   ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                                                   EventsProperties properties) {
+        EventsProperties.RateLimit rateLimit = properties.rateLimit();
+        RateLimiter reads = rateLimit.enabled()
+                ? new RateLimiter(rateLimit.readBurst(), rateLimit.readRate(), rateLimit.maxClients(), System::nanoTime)
+                : null;
+        RateLimiter writes = rateLimit.enabled()
+                ? new RateLimiter(rateLimit.writeBurst(), rateLimit.writeRate(), rateLimit.maxClients(), System::nanoTime)
+                : null;
+        RateLimitFilter filter = new RateLimitFilter(rateLimit.clientHeader(), reads, writes, loadShedder.getIfAvailable(),
+                Math.max(1, properties.loadShedding().evaluationInterval().toSeconds()), objectMapper, meterRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/events", "/api/v1/events/*");
+        return registration;
+    }
+}
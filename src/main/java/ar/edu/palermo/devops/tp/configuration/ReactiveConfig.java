@@ -0,0 +1,31 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.cache.ReactiveCacheInvalidationPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.UUID;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Tomcat is also on the classpath and would be picked first; Netty serves every connection from a few event loops
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Servlet nodes on the same database must hear about the writes made here, or they keep serving cached events
+    @Bean
+    @ConditionalOnProperty(prefix = "events.cache-bus", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ReactiveCacheInvalidationPublisher reactiveCacheInvalidationPublisher(DatabaseClient databaseClient,
+                                                                                 EventsProperties properties) {
+        return new ReactiveCacheInvalidationPublisher(databaseClient, properties.cacheBus().channel(),
+                UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,89 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.jdbc.ReadReplica;
+import ar.edu.palermo.devops.tp.jdbc.ReadWriteRoutingDataSource;
+import ar.edu.palermo.devops.tp.jdbc.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+
+// Reads that may lag the primary by up to events.read-replica.max-lag go to a streaming replica
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "events.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // Not a default candidate: the auto-configured DataSource stays the one injected everywhere
+    @Bean(defaultCandidate = false)
+    public DataSource replicaDataSource(DataSourceProperties primary, EventsProperties properties) {
+        EventsProperties.ReadReplica readReplica = properties.readReplica();
+        Assert.hasText(readReplica.url(), "events.read-replica.url is required when the read replica is enabled");
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(readReplica.url());
+        replica.setUsername(readReplica.username() != null ? readReplica.username() : primary.determineUsername());
+        replica.setPassword(readReplica.password() != null ? readReplica.password() : primary.determinePassword());
+        replica.setMaximumPoolSize(readReplica.maxPoolSize());
+        replica.setConnectionTimeout(readReplica.connectionTimeout().toMillis());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadReplica readReplica(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                   EventsProperties properties, MeterRegistry meterRegistry) {
+        return new ReadReplica(replicaDataSource, properties.readReplica().maxLag(), meterRegistry);
+    }
+
+    @Bean
+    public SchedulingConfigurer replicaLagSchedule(ReadReplica readReplica, EventsProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(readReplica::checkLag, properties.readReplica().lagCheckInterval());
+    }
+
+    // Wraps the primary after admission control (VirtualThreadConfig) has wrapped the bare pool, hence the Ordered
+    // return type
+    @Bean
+    public static RoutingPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReadReplica> readReplica,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RoutingPostProcessor(readReplica, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(EventsProperties properties) {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(properties.rateLimit().clientHeader(),
+                properties.readReplica().readYourWritesWindow(), properties.rateLimit().maxClients());
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/events", "/api/v1/events/*");
+        return registration;
+    }
+
+    record RoutingPostProcessor(ObjectProvider<ReadReplica> readReplica,
+                                ObjectProvider<MeterRegistry> meterRegistry) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primary && "dataSource".equals(beanName)) {
+                return new ReadWriteRoutingDataSource(primary, readReplica.getObject(), meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
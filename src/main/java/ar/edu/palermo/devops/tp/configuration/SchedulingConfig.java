@@ -0,0 +1,11 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tasks are registered by their owners through SchedulingConfigurer (OutboxConfig, UpcomingEvents), so their
+// intervals come from EventsProperties. They run on virtual threads when those are enabled
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,84 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import ar.edu.palermo.devops.tp.jdbc.AdmissionControlDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Active with spring.threads.virtual.enabled=true, which also moves Tomcat, @Async and scheduling to virtual threads
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // JFR jdk.VirtualThreadPinned events as the jvm.threads.virtual.pinned timer
+    @Bean(destroyMethod = "close")
+    public VirtualThreadMetrics virtualThreadMetrics() {
+        return new VirtualThreadMetrics();
+    }
+
+    // First of the post-processors that wrap a DataSource, so it sees the bare pool. Declared with its own type
+    // because post-processors are ordered before they are created
+    @Bean
+    public static AdmissionControlPostProcessor admissionControlDataSourcePostProcessor() {
+        return new AdmissionControlPostProcessor();
+    }
+
+    @Bean
+    public MeterBinder admissionControlMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            if (admissionControl(dataSource.getIfAvailable()) instanceof AdmissionControlDataSource admission) {
+                Gauge.builder("jdbc.connections.admission.waiting", admission, AdmissionControlDataSource::getQueueLength)
+                        .description("Threads queued for a database connection")
+                        .register(registry);
+                // With admission control the callers wait here rather than in hikaricp.connections.acquire
+                FunctionTimer.builder("jdbc.connections.admission.wait", admission,
+                                AdmissionControlDataSource::getAcquiredCount, AdmissionControlDataSource::getTotalWaitNanos,
+                                TimeUnit.NANOSECONDS)
+                        .description("Time queued for a database connection")
+                        .register(registry);
+            }
+        };
+    }
+
+    // Possibly behind the read/write routing of ReadReplicaConfig
+    private static AdmissionControlDataSource admissionControl(DataSource dataSource) {
+        try {
+            return dataSource != null && dataSource.isWrapperFor(AdmissionControlDataSource.class)
+                    ? dataSource.unwrap(AdmissionControlDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    static final class AdmissionControlPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                // Fills in the default pool size, Hikari otherwise only does it when the pool starts
+                hikari.validate();
+                return new AdmissionControlDataSource(hikari, hikari.getMaximumPoolSize());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ar.edu.palermo.devops.tp.controller;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.service.EventChangeLog;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Writes the EventChangeLog to Server-Sent Events subscribers, each from its own virtual thread and cursor,
+// so a slow client only ever blocks itself
+@Component
+@Profile("!reactive")
+class EventChangeStreamer {
+    private static final int READ_BATCH_SIZE = 256;
+
+    private final EventChangeLog changeLog;
+    private final long heartbeatNanos;
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("event-changes-", 0).factory();
+
+    EventChangeStreamer(EventChangeLog changeLog, EventsProperties properties) {
+        this.changeLog = changeLog;
+        this.heartbeatNanos = properties.changes().heartbeat().toNanos();
+    }
+
+    /**
+     * @param from first sequence to send, or null for the changes appended from now on
+     */
+    SseEmitter stream(Long from) {
+        SseEmitter emitter = new SseEmitter();
+        Subscription subscription = new Subscription(emitter, from == null ? changeLog.nextSequence() : from);
+        Thread thread = threadFactory.newThread(subscription);
+        emitter.onCompletion(() -> subscription.close(thread));
+        emitter.onTimeout(() -> subscription.close(thread));
+        emitter.onError(error -> subscription.close(thread));
+        thread.start();
+        return emitter;
+    }
+
+    record Gap(long from, long to) {}
+
+    record Reset(long next) {}
+
+    private final class Subscription implements Runnable {
+        private final SseEmitter emitter;
+        private long cursor;
+        private long lastSent = System.nanoTime();
+        private volatile boolean open = true;
+
+        private Subscription(SseEmitter emitter, long from) {
+            this.emitter = emitter;
+            this.cursor = from;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (cursor > changeLog.nextSequence()) {
+                    // A sequence from before the application restarted
+                    cursor = changeLog.nextSequence();
+                    send(SseEmitter.event().name("reset").data(new Reset(cursor)));
+                }
+                while (open) {
+                    EventChangeLog.Read read = changeLog.read(cursor, READ_BATCH_SIZE);
+                    if (read.missed() > 0) {
+                        // The client fell a whole ring behind: it is told which changes it lost, to reload them,
+                        // and carries on from the oldest change still kept
+                        send(SseEmitter.event().name("gap").data(new Gap(cursor, cursor + read.missed() - 1)));
+                    }
+                    for (EventChange change : read.changes()) {
+                        send(SseEmitter.event()
+                                .id(Long.toString(change.sequence()))
+                                .name(change.type().name().toLowerCase(Locale.ROOT))
+                                .data(change));
+                    }
+                    cursor = read.next();
+                    if (read.changes().isEmpty()) {
+                        changeLog.await(cursor, heartbeatNanos, TimeUnit.NANOSECONDS);
+                        if (System.nanoTime() - lastSent >= heartbeatNanos) {
+                            send(SseEmitter.event().comment("heartbeat"));
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client disconnected or the emitter already completed; the container cleans up
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            emitter.send(event);
+            lastSent = System.nanoTime();
+        }
+
+        private void close(Thread thread) {
+            open = false;
+            LockSupport.unpark(thread);
+        }
+    }
+}
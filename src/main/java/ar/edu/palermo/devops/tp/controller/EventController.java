@@ -1,54 +1,278 @@
 package ar.edu.palermo.devops.tp.controller;
 
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.exception.EventVersionMismatchException;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
 import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventVersionDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
 import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.service.EventExporter;
 import ar.edu.palermo.devops.tp.service.EventServiceInterface;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/events")
 public class EventController {
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final EventServiceInterface eventSvc;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventsProperties properties;
+    private final EventChangeStreamer changeStreamer;
 
-    public EventController(EventServiceInterface eventSvc) {
+    public EventController(EventServiceInterface eventSvc, ObjectMapper objectMapper, Validator validator,
+                           EventsProperties properties, EventChangeStreamer changeStreamer) {
         this.eventSvc = eventSvc;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.changeStreamer = changeStreamer;
     }
 
     @PostMapping
-    public ResponseEntity<Event> createEvent(@RequestBody @Valid EventDto event) {
+    public ResponseEntity<Event> createEvent(@RequestBody @Valid EventDto event, WebRequest request) {
         Event savedEvent = eventSvc.save(event);
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(savedEvent.getId())
                 .toUri();
-        return ResponseEntity.created(location).body(savedEvent);
+        return withValidators(ResponseEntity.created(location), savedEvent, request);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> createEvents(@RequestBody List<EventDto> events) {
+        EventRequests.checkBatchSize(events, properties.batch());
+        return ResponseEntity.ok(eventSvc.saveAll(events));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDto> updateEvents(@RequestBody List<EventDto> events) {
+        EventRequests.checkBatchSize(events, properties.batch());
+        return ResponseEntity.ok(eventSvc.updateAll(events));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteEvents(@RequestBody List<Long> ids) {
+        EventRequests.checkBatchSize(ids, properties.batch());
+        return ResponseEntity.ok(eventSvc.deleteAll(ids));
+    }
+
+    // Streamed: the body is read and copied to the database as it arrives, however large it is
+    @PostMapping(path = "/import", consumes = {EventRequests.NDJSON_VALUE, EventRequests.CSV_VALUE})
+    public ResponseEntity<ImportResultDto> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body) {
+        return ResponseEntity.ok(eventSvc.importEvents(body, EventRequests.importFormat(contentType)));
+    }
+
+    // Streamed from a cursor, or from COPY for CSV: memory does not grow with the number of events
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        final EventExporter.Format exportFormat = EventRequests.exportFormat(format);
+        final boolean gzip = EventRequests.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(outputStream, EXPORT_GZIP_BUFFER_SIZE);
+                eventSvc.exportEvents(compressed, exportFormat);
+                compressed.finish();
+            } else {
+                eventSvc.exportEvents(outputStream, exportFormat);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(EventRequests.exportMediaType(exportFormat))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("events." + exportFormat.name().toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping()
-    public ResponseEntity<List<Event>> getEvents() {
-        return ResponseEntity.ok(eventSvc.findAll());
+    public ResponseEntity<List<Event>> getEvents(@RequestParam(name = "after", required = false) Long after,
+                                                 @RequestParam(name = "size", required = false) Integer size,
+                                                 WebRequest request) {
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(pageETag(eventSvc.findPageVersions(after, pageSize)))) {
+            return null;
+        }
+        Window<Event> page = eventSvc.findPage(after, pageSize);
+        // No Last-Modified: a deleted event changes the page without changing any update time
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(pageETag(page.map(EventVersionDto::of)));
+        if (page.hasNext()) {
+            URI next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("after", page.getContent().getLast().getId())
+                    .replaceQueryParam("size", pageSize)
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+
+    // Same pages as the listing with only id, name and date, read as projections instead of entities
+    @GetMapping("/summary")
+    public ResponseEntity<List<EventSummaryDto>> getEventSummaries(@RequestParam(name = "after", required = false) Long after,
+                                                                   @RequestParam(name = "size", required = false) Integer size) {
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        Window<EventSummaryDto> page = eventSvc.findPageSummaries(after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            URI next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("after", page.getContent().getLast().id())
+                    .replaceQueryParam("size", pageSize)
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Event>> searchEvents(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "upcoming", defaultValue = "false") boolean upcoming,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", required = false) Integer size) {
+        final int pageNumber = EventRequests.page(page);
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        Window<Event> result = eventSvc.search(EventRequests.searchCriteria(from, to, upcoming, name, text),
+                EventRequests.sort(sort), pageNumber, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.hasNext()) {
+            // The query string is copied as received, name and q are already percent-encoded
+            URI next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("page", pageNumber + 1)
+                    .replaceQueryParam("size", pageSize)
+                    .build(true)
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(result.getContent());
+    }
+
+    // Never reads the database: the view is kept in memory and updated as events change
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<Event>> getUpcomingEvents(
+            @RequestParam(name = "afterDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDate,
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "size", required = false) Integer size) {
+        EventRequests.checkUpcomingCursor(afterDate, afterId);
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        Window<Event> page = eventSvc.findUpcoming(afterDate, afterId, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            Event last = page.getContent().getLast();
+            URI next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("afterDate", last.getDate())
+                    .replaceQueryParam("afterId", last.getId())
+                    .replaceQueryParam("size", pageSize)
+                    .build()
+                    .toUri();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamEvents() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                eventSvc.streamAll(event -> {
+                    try {
+                        generator.writeObject(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // EventSource clients reconnect with Last-Event-ID and resume after the last change they received
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(name = "from", required = false) Long from,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        if (from == null && lastEventId != null) {
+            from = lastEventId + 1;
+        }
+        return changeStreamer.stream(from);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(eventSvc.findById(id));
+    public ResponseEntity<Event> getEventById(@PathVariable("id") Long id, WebRequest request) {
+        // Conditional requests are answered from the version probe, without loading or serializing the event
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            EventVersionDto current = eventSvc.findVersion(id);
+            String eTag = EventEncoding.of(request).eTag(current.version());
+            if (request.checkNotModified(eTag, current.updatedAt().toEpochMilli())) {
+                return null;
+            }
+        }
+        return withValidators(ResponseEntity.ok(), eventSvc.findById(id), request);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Event> updateEvent(@PathVariable("id") Long id, @RequestBody @Valid EventDto event) {
-        return ResponseEntity.ok(eventSvc.update(id, event));
+    public ResponseEntity<Event> updateEvent(@PathVariable("id") Long id, @RequestBody @Valid EventDto event,
+                                             WebRequest request) {
+        return withValidators(ResponseEntity.ok(), eventSvc.update(id, event, expectedVersion(id, request)), request);
     }
 
-    @PatchMapping("/{id}")
-    public ResponseEntity<Event> patchEvent(@PathVariable("id") Long id, @RequestBody @Valid EventDto event) {
-        return ResponseEntity.ok(eventSvc.update(id, event));
+    @PatchMapping(path = "/{id}", consumes = {EventRequests.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Event> patchEvent(@PathVariable("id") Long id, @RequestBody ObjectNode patch,
+                                            WebRequest request) {
+        EventRequests.MergePatch mergePatch = EventRequests.readMergePatch(patch, objectMapper, validator);
+        return withValidators(ResponseEntity.ok(), eventSvc.patch(id, mergePatch.changes(), mergePatch.fields(),
+                expectedVersion(id, request)), request);
     }
 
     @DeleteMapping("/{id}")
@@ -56,4 +280,39 @@ public class EventController {
         eventSvc.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // If-Match / If-Unmodified-Since are evaluated against the current version, and the write is then
+    // conditioned on that version so a change made in between still fails with 412
+    private Long expectedVersion(Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_MATCH) == null && request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) == null) {
+            return null;
+        }
+        EventVersionDto current = eventSvc.findVersion(id);
+        String eTag = EventEncoding.ifMatchETag(request, current.version());
+        if (request.checkNotModified(eTag, current.updatedAt().toEpochMilli())) {
+            throw new EventVersionMismatchException(id);
+        }
+        return current.version();
+    }
+
+    private static ResponseEntity<Event> withValidators(ResponseEntity.BodyBuilder response, Event event,
+                                                        WebRequest request) {
+        if (event.getVersion() != null) {
+            response.eTag(EventEncoding.of(request).eTag(event.getVersion()));
+        }
+        if (event.getUpdatedAt() != null) {
+            response.lastModified(event.getUpdatedAt());
+        }
+        return response.body(event);
+    }
+
+    // Strong validator of a page: the same events at the same versions, with or without a next page
+    // Weak: the same page is sent as JSON, CBOR, Smile or Protobuf, compressed or not (Tomcat only compresses
+    // responses without a strong ETag)
+    private static String pageETag(Window<EventVersionDto> page) {
+        StringBuilder versions = new StringBuilder();
+        page.forEach(event -> versions.append(event.id()).append(':').append(event.version()).append(','));
+        versions.append(page.hasNext());
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -0,0 +1,81 @@
+package ar.edu.palermo.devops.tp.controller;
+
+import ar.edu.palermo.devops.tp.http.ProtobufEventHttpMessageConverter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The encodings an event is sent in. A strong ETag must differ between representations, so every encoding but JSON
+// adds a suffix to the version
+enum EventEncoding {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile"),
+    PROTOBUF(ProtobufEventHttpMessageConverter.PROTOBUF, "-protobuf");
+
+    private final MediaType mediaType;
+    private final String suffix;
+
+    EventEncoding(MediaType mediaType, String suffix) {
+        this.mediaType = mediaType;
+        this.suffix = suffix;
+    }
+
+    String eTag(long version) {
+        return "\"" + version + suffix + "\"";
+    }
+
+    /**
+     * The encoding Spring MVC negotiates for the request: the first type of Accept, by quality and then
+     * specificity, that an encoding is compatible with. Wildcards, and no Accept at all, get JSON.
+     */
+    static EventEncoding of(WebRequest request) {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(List.of(accept)));
+        } catch (InvalidMediaTypeException e) {
+            // Answered with 406 by the negotiation anyway
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (EventEncoding encoding : values()) {
+                if (type.isCompatibleWith(encoding.mediaType)) {
+                    return encoding;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The tag of {@code version}, in whichever encoding If-Match names it: a write is conditioned on the version,
+     * whatever representation the client read it in. JSON's when none is named, so the comparison still fails.
+     */
+    static String ifMatchETag(WebRequest request, long version) {
+        String[] ifMatch = request.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (ifMatch != null) {
+            for (EventEncoding encoding : values()) {
+                String eTag = encoding.eTag(version);
+                for (String value : ifMatch) {
+                    if (value.contains(eTag)) {
+                        return eTag;
+                    }
+                }
+            }
+        }
+        return JSON.eTag(version);
+    }
+}
@@ -0,0 +1,155 @@
+package ar.edu.palermo.devops.tp.controller;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.repository.EventSearchQuery;
+import ar.edu.palermo.devops.tp.service.EventExporter;
+import ar.edu.palermo.devops.tp.service.EventImporter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Request handling shared by the servlet and the reactive controllers
+final class EventRequests {
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String CSV_VALUE = "text/csv";
+    static final String COLUMNAR_VALUE = "application/vnd.events.columnar";
+
+    private static final String BATCH_SIZE_ERROR_MSG = "Batch must contain between 1 and %d items";
+    private static final String DATE_RANGE_ERROR_MSG = "'from' must not be after 'to'";
+    private static final String SORT_ERROR_MSG = "Cannot sort by '%s', use one of %s with an optional '-' prefix";
+    private static final String PAGE_ERROR_MSG = "Page must not be negative";
+    private static final String EXPORT_FORMAT_ERROR_MSG = "Format must be one of ndjson, csv or columnar";
+    private static final String CURSOR_ERROR_MSG = "'afterDate' and 'afterId' must be sent together";
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "description", "date");
+
+    private EventRequests() {
+    }
+
+    record MergePatch(EventDto changes, Set<String> fields) {}
+
+    static MergePatch readMergePatch(ObjectNode patch, ObjectMapper objectMapper, Validator validator) {
+        EventDto changes;
+        try {
+            changes = objectMapper.treeToValue(patch, EventDto.class);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage(), e);
+        }
+        Set<String> fields = new HashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        fields.retainAll(PATCHABLE_FIELDS);
+
+        // JSON Merge Patch: only the members present in the document are validated and applied
+        Set<ConstraintViolation<EventDto>> violations = new HashSet<>();
+        fields.forEach(field -> violations.addAll(validator.validateProperty(changes, field)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new MergePatch(changes, fields);
+    }
+
+    static EventImporter.Format importFormat(MediaType contentType) {
+        return MediaType.valueOf(CSV_VALUE).includes(contentType) ? EventImporter.Format.CSV : EventImporter.Format.NDJSON;
+    }
+
+    static EventExporter.Format exportFormat(String format) {
+        try {
+            return EventExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, EXPORT_FORMAT_ERROR_MSG);
+        }
+    }
+
+    static MediaType exportMediaType(EventExporter.Format format) {
+        return switch (format) {
+            case NDJSON -> MediaType.valueOf(NDJSON_VALUE);
+            case CSV -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+            case COLUMNAR -> MediaType.valueOf(COLUMNAR_VALUE);
+        };
+    }
+
+    // Accept-Encoding: gzip, or gzip with a non-zero weight
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static int pageSize(Integer size, EventsProperties.Pagination pagination) {
+        return size == null ? pagination.defaultSize() : Math.clamp(size, 1, pagination.maxSize());
+    }
+
+    static void checkBatchSize(List<?> batch, EventsProperties.Batch properties) {
+        final int maxSize = properties.maxSize();
+        if (batch.isEmpty() || batch.size() > maxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format(BATCH_SIZE_ERROR_MSG, maxSize));
+        }
+    }
+
+    // upcoming=true moves the start of the range to now when it is earlier
+    static EventSearchCriteria searchCriteria(LocalDateTime from, LocalDateTime to, boolean upcoming,
+                                              String name, String text) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = upcoming && (from == null || from.isBefore(now)) ? now : from;
+        if (start != null && to != null && start.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, DATE_RANGE_ERROR_MSG);
+        }
+        return new EventSearchCriteria(start, to, name, text);
+    }
+
+    // sort=-date,name: descending date, then ascending name
+    static Sort sort(List<String> properties) {
+        if (properties == null) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String property : properties) {
+            boolean descending = property.startsWith("-");
+            String name = descending ? property.substring(1) : property;
+            if (!EventSearchQuery.SORTABLE_PROPERTIES.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        String.format(SORT_ERROR_MSG, property, EventSearchQuery.SORTABLE_PROPERTIES));
+            }
+            orders.add(descending ? Sort.Order.desc(name) : Sort.Order.asc(name));
+        }
+        return Sort.by(orders);
+    }
+
+    static int page(Integer page) {
+        if (page != null && page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, PAGE_ERROR_MSG);
+        }
+        return page == null ? 0 : page;
+    }
+
+    static void checkUpcomingCursor(LocalDateTime afterDate, Long afterId) {
+        if ((afterDate == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, CURSOR_ERROR_MSG);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package ar.edu.palermo.devops.tp.controller;
 
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,7 +12,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionController {
+    private static final String CONCURRENT_UPDATE_ERROR_MSG = "Event was modified concurrently, read it again and retry";
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException ex) {
@@ -18,4 +23,18 @@ public class GlobalExceptionController {
                 .forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations()
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    // Another request wrote the event between our read and our flush
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(Map.of("version", CONCURRENT_UPDATE_ERROR_MSG), HttpStatus.CONFLICT);
+    }
 }
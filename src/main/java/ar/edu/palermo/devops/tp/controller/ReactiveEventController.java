@@ -0,0 +1,152 @@
+package ar.edu.palermo.devops.tp.controller;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.service.ReactiveEventServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Same contract as EventController, served by WebFlux when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/events")
+public class ReactiveEventController {
+
+    private final ReactiveEventServiceInterface eventSvc;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventsProperties properties;
+
+    public ReactiveEventController(ReactiveEventServiceInterface eventSvc, ObjectMapper objectMapper,
+                                   Validator validator, EventsProperties properties) {
+        this.eventSvc = eventSvc;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Event>> createEvent(@RequestBody @Valid EventDto event, ServerWebExchange exchange) {
+        return eventSvc.save(event)
+                .map(savedEvent -> {
+                    URI location = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                            .path("/{id}")
+                            .buildAndExpand(savedEvent.getId())
+                            .toUri();
+                    return ResponseEntity.created(location).body(savedEvent);
+                });
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResultDto>> createEvents(@RequestBody List<EventDto> events) {
+        EventRequests.checkBatchSize(events, properties.batch());
+        return eventSvc.saveAll(events).map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<BatchResultDto>> updateEvents(@RequestBody List<EventDto> events) {
+        EventRequests.checkBatchSize(events, properties.batch());
+        return eventSvc.updateAll(events).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<BatchResultDto>> deleteEvents(@RequestBody List<Long> ids) {
+        EventRequests.checkBatchSize(ids, properties.batch());
+        return eventSvc.deleteAll(ids).map(ResponseEntity::ok);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Event>>> getEvents(@RequestParam(name = "after", required = false) Long after,
+                                                       @RequestParam(name = "size", required = false) Integer size,
+                                                       ServerWebExchange exchange) {
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        return eventSvc.findPage(after, pageSize)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.hasNext()) {
+                        URI next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                                .replaceQueryParam("after", page.getContent().getLast().getId())
+                                .replaceQueryParam("size", pageSize)
+                                .build()
+                                .toUri();
+                        response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return response.body(page.getContent());
+                });
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Event>>> searchEvents(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "upcoming", defaultValue = "false") boolean upcoming,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "q", required = false) String text,
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", required = false) Integer size,
+            ServerWebExchange exchange) {
+        final int pageNumber = EventRequests.page(page);
+        final int pageSize = EventRequests.pageSize(size, properties.pagination());
+        return eventSvc.search(EventRequests.searchCriteria(from, to, upcoming, name, text),
+                        EventRequests.sort(sort), pageNumber, pageSize)
+                .map(result -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (result.hasNext()) {
+                        // The query string is copied as received, name and q are already percent-encoded
+                        URI next = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                                .replaceQueryParam("page", pageNumber + 1)
+                                .replaceQueryParam("size", pageSize)
+                                .build(true)
+                                .toUri();
+                        response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return response.body(result.getContent());
+                });
+    }
+
+    // Encoded as a JSON array element by element; rows are only fetched as fast as the client reads them
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<Flux<Event>> streamEvents() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(eventSvc.streamAll());
+    }
+
+    @GetMapping(path = "/{id}")
+    public Mono<ResponseEntity<Event>> getEventById(@PathVariable("id") Long id) {
+        return eventSvc.findById(id).map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Event>> updateEvent(@PathVariable("id") Long id, @RequestBody @Valid EventDto event) {
+        return eventSvc.update(id, event).map(ResponseEntity::ok);
+    }
+
+    @PatchMapping(path = "/{id}", consumes = {EventRequests.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Event>> patchEvent(@PathVariable("id") Long id, @RequestBody ObjectNode patch) {
+        EventRequests.MergePatch mergePatch = EventRequests.readMergePatch(patch, objectMapper, validator);
+        return eventSvc.patch(id, mergePatch.changes(), mergePatch.fields()).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteEvent(@PathVariable("id") Long id) {
+        return eventSvc.delete(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,13 @@
+package ar.edu.palermo.devops.tp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.PRECONDITION_FAILED)
+public class EventVersionMismatchException extends RuntimeException {
+    private static final String EVENT_VERSION_MISMATCH_ERROR_MSG = "Event id %d has been modified.";
+
+    public EventVersionMismatchException(Long eventId) {
+        super(String.format(EVENT_VERSION_MISMATCH_ERROR_MSG, eventId));
+    }
+}
@@ -0,0 +1,107 @@
+package ar.edu.palermo.devops.tp.http;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes events, and collections of events, as the {@code Event} and {@code Events} messages of
+ * {@code proto/events.proto}. Jackson maps the properties to the schema fields, so the values are those of the
+ * JSON representation. Responses only: request bodies are still read as JSON, CBOR or Smile.
+ */
+public class ProtobufEventHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA = "proto/events.proto";
+
+    private record Events(Collection<?> events) {
+    }
+
+    private final ObjectWriter eventWriter;
+
+    private final ObjectWriter eventsWriter;
+
+    /**
+     * @param objectMapper built on a {@link ProtobufFactory}
+     */
+    public ProtobufEventHttpMessageConverter(ObjectMapper objectMapper) {
+        super(PROTOBUF);
+        Assert.isInstanceOf(ProtobufFactory.class, objectMapper.getFactory(), "ProtobufFactory required");
+        NativeProtobufSchema schema;
+        try (InputStream in = new ClassPathResource(SCHEMA).getInputStream()) {
+            schema = ProtobufSchemaLoader.std.loadNative(in, true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load " + SCHEMA, ex);
+        }
+        this.eventWriter = objectMapper.writer(schema.forType("Event"));
+        this.eventsWriter = objectMapper.writer(schema.forType("Events"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Event.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (Collection.class.isAssignableFrom(clazz)) {
+            // Only when declared as a collection of events, e.g. ResponseEntity<List<Event>>
+            ResolvableType declared = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+            Class<?> element = declared.asCollection().resolveGeneric(0);
+            return element != null && Event.class.isAssignableFrom(element) && canWrite(mediaType);
+        }
+        return supports(clazz) && canWrite(mediaType);
+    }
+
+    // Asked with the runtime class when listing the producible media types, after canWrite checked the element type
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        // The writers close what they write to
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        if (object instanceof Collection<?> events) {
+            eventsWriter.writeValue(body, new Events(events));
+        } else {
+            eventWriter.writeValue(body, object);
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Protobuf request bodies are not supported");
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Protobuf request bodies are not supported");
+    }
+}
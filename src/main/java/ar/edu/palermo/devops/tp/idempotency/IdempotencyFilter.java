@@ -0,0 +1,324 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes a write sent with an {@code Idempotency-Key} once, and answers its retries with the response of that
+ * execution, marked with {@code Idempotent-Replayed: true}.
+ * <p>
+ * Keys belong to a client, told apart as in {@code RateLimitFilter}. Reusing a key for another method, URI or
+ * body gets 422. Duplicates that arrive while the key is being executed wait for that execution instead of
+ * running the write again: on this node they share its outcome, on other nodes they poll the store; after
+ * {@code lockTimeout} they get 409. Responses a retry may change (5xx, 408, 409, 429) are not kept and release
+ * the key. Imports are streamed, not buffered, and are left out.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final String INVALID_KEY_ERROR_MSG = "Idempotency-Key must have between 1 and %d characters";
+    private static final String KEY_REUSED_ERROR_MSG = "Idempotency-Key was already used for another request";
+    private static final String IN_PROGRESS_ERROR_MSG = "A request with this Idempotency-Key is still in progress, retry after %d seconds";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final List<String> STREAMED_PATHS = List.of("/import");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 409, 429);
+    private static final Set<String> UNKEPT_HEADERS = Set.of(HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase());
+
+    private final String clientHeader;
+
+    private final IdempotencyStore store;
+
+    private final Duration lockTimeout;
+
+    private final Duration pollInterval;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Outcome, Counter> outcomes;
+
+    // Executions in progress on this node, which the duplicates arriving here wait for
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> executions = new ConcurrentHashMap<>();
+
+    private enum Outcome {
+        EXECUTED, REPLAYED, IN_PROGRESS, MISMATCH
+    }
+
+    public IdempotencyFilter(String clientHeader, IdempotencyStore store, Duration lockTimeout, Duration pollInterval,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.clientHeader = clientHeader;
+        this.store = store;
+        this.lockTimeout = lockTimeout;
+        this.pollInterval = pollInterval;
+        this.objectMapper = objectMapper;
+        this.outcomes = outcomes(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY) == null || !METHODS.contains(request.getMethod())
+                || STREAMED_PATHS.stream().anyMatch(request.getRequestURI()::endsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, INVALID_KEY_ERROR_MSG.formatted(MAX_KEY_LENGTH));
+            return;
+        }
+        BufferedRequest bufferedRequest = new BufferedRequest(request);
+        String fingerprint = fingerprint(request, bufferedRequest.body);
+        String key = client(request) + " " + idempotencyKey;
+        long deadline = System.nanoTime() + lockTimeout.toNanos();
+        IdempotentResponse stored;
+        while (true) {
+            CompletableFuture<IdempotentResponse> execution = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = executions.putIfAbsent(key, execution);
+            if (running == null) {
+                stored = null;
+                try {
+                    IdempotencyStore.Claim claim = claim(key, fingerprint, deadline);
+                    if (claim.claimed()) {
+                        outcomes.get(Outcome.EXECUTED).increment();
+                        stored = execute(bufferedRequest, response, chain, key, fingerprint);
+                        return;
+                    }
+                    stored = claim.response();
+                } finally {
+                    executions.remove(key, execution);
+                    execution.complete(stored);
+                }
+                break;
+            }
+            stored = await(running, deadline);
+            // Not kept, so the write executes again: one of the waiting duplicates takes the key
+            if (stored != null || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        if (stored == null) {
+            outcomes.get(Outcome.IN_PROGRESS).increment();
+            long retryAfterSeconds = Math.max(1, lockTimeout.toSeconds());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            reject(response, HttpStatus.CONFLICT, IN_PROGRESS_ERROR_MSG.formatted(retryAfterSeconds));
+        } else if (!stored.fingerprint().equals(fingerprint)) {
+            outcomes.get(Outcome.MISMATCH).increment();
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_REUSED_ERROR_MSG);
+        } else {
+            outcomes.get(Outcome.REPLAYED).increment();
+            replay(stored, response);
+        }
+    }
+
+    // Polls while another node holds the key
+    private IdempotencyStore.Claim claim(String key, String fingerprint, long deadline) {
+        IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+        while (!claim.claimed() && claim.response() == null && System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            claim = store.claim(key, fingerprint);
+        }
+        return claim;
+    }
+
+    private IdempotentResponse execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                       String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        IdempotentResponse stored = null;
+        try {
+            chain.doFilter(request, capture);
+            int status = capture.getStatus();
+            if (status < 500 && !RETRYABLE_STATUSES.contains(status)) {
+                IdempotentResponse completed = new IdempotentResponse(fingerprint, status, headers(capture),
+                        capture.getContentAsByteArray());
+                // The write is done either way: its response is still sent, only its retries would execute it again
+                try {
+                    store.complete(key, completed);
+                    stored = completed;
+                } catch (RuntimeException e) {
+                    log.warn("Could not keep the response of an Idempotency-Key, its retries will execute again", e);
+                }
+            }
+        } finally {
+            if (stored == null) {
+                store.release(key);
+            }
+        }
+        capture.copyBodyToResponse();
+        return stored;
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> execution, long deadline) {
+        try {
+            return execution.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        for (String name : response.getHeaderNames()) {
+            if (!UNKEPT_HEADERS.contains(name.toLowerCase())) {
+                headers.putIfAbsent(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return StringUtils.hasText(client) ? "key:" + client : "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(IDEMPOTENCY_KEY, message));
+    }
+
+    private static Map<Outcome, Counter> outcomes(MeterRegistry meterRegistry) {
+        Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("events.idempotency.requests")
+                    .description("Writes sent with an Idempotency-Key by what was done with them")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        return outcomes;
+    }
+
+    // The body is read before the write to fingerprint it, and read again from memory by the controller
+    private static final class BufferedRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is in memory, so it is available at once and all read when the listener returns
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+/**
+ * Idempotency keys and the responses completed for them.
+ * <p>
+ * An execution {@linkplain #claim claims} its key first and then either {@linkplain #complete completes} it with
+ * the response to replay or {@linkplain #release releases} it, so a retry executes again. Keys expire some time
+ * after they are completed; a key claimed by an execution that never finished expires too.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for the calling execution, unless a response is stored for it or another execution holds it.
+     */
+    Claim claim(String key, String fingerprint);
+
+    void complete(String key, IdempotentResponse response);
+
+    void release(String key);
+
+    /**
+     * @param response stored for the key, when it was neither claimed nor held by another execution
+     */
+    record Claim(boolean claimed, IdempotentResponse response) {
+        public static final Claim CLAIMED = new Claim(true, null);
+
+        public static final Claim IN_PROGRESS = new Claim(false, null);
+
+        public static Claim completed(IdempotentResponse response) {
+            return new Claim(false, response);
+        }
+    }
+}
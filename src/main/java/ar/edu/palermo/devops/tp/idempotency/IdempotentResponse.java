@@ -0,0 +1,13 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response kept to be sent again to the retries of the request that produced it.
+ *
+ * @param fingerprint method, URI and body of that request, which a retry with the same key must repeat
+ * @param headers     as the application set them, without Content-Length
+ */
+public record IdempotentResponse(String fingerprint, int status, Map<String, List<String>> headers, byte[] body) {
+}
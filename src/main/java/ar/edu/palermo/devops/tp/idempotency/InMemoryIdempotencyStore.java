@@ -0,0 +1,50 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keys of this node only, for a single node or a load balancer that sends all the requests of a client to the
+ * same one. Bounded by the size of the kept responses: the least recently used are dropped first.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    // Rough size of what a response holds besides its body: key, fingerprint and a few headers
+    private static final int RESPONSE_OVERHEAD = 512;
+
+    private static final IdempotentResponse PENDING = new IdempotentResponse("", 0, Map.of(), new byte[0]);
+
+    private final ConcurrentMap<String, IdempotentResponse> responses;
+
+    public InMemoryIdempotencyStore(Duration ttl, long maxSizeBytes) {
+        Cache<String, IdempotentResponse> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxSizeBytes)
+                .weigher((String key, IdempotentResponse response) -> RESPONSE_OVERHEAD + response.body().length)
+                .build();
+        this.responses = cache.asMap();
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        IdempotentResponse response = responses.putIfAbsent(key, PENDING);
+        if (response == null) {
+            return Claim.CLAIMED;
+        }
+        return response == PENDING ? Claim.IN_PROGRESS : Claim.completed(response);
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        responses.remove(key, PENDING);
+    }
+}
@@ -0,0 +1,106 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keys shared by all the nodes in the {@code idempotency_key} table, so a retry sent to another node is still
+ * replayed.
+ * <p>
+ * A claimed key is a row without status that expires after {@code lockTimeout}; past it, another execution may
+ * take the key over, so it must be longer than a write takes. A completed row expires after {@code ttl}. Expiry
+ * times come from the database clock, which all the nodes share; {@link #deleteExpired} removes the rows.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final TypeReference<LinkedHashMap<String, List<String>>> HEADERS = new TypeReference<>() {};
+
+    // Inserts the key, or takes over an expired one; one round trip for every claim that succeeds
+    private static final String CLAIM = """
+            INSERT INTO idempotency_key (key, fingerprint, expires_at)
+            VALUES (?, ?, now() + make_interval(secs => ?))
+            ON CONFLICT (key) DO UPDATE
+                SET fingerprint = excluded.fingerprint, status = NULL, headers = NULL, body = NULL,
+                    expires_at = excluded.expires_at
+                WHERE idempotency_key.expires_at < now()""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final double ttlSeconds;
+
+    private final double lockTimeoutSeconds;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Duration ttl, Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttl.toMillis() / 1000.0;
+        this.lockTimeoutSeconds = lockTimeout.toMillis() / 1000.0;
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        while (true) {
+            if (jdbcTemplate.update(CLAIM, key, fingerprint, lockTimeoutSeconds) == 1) {
+                return Claim.CLAIMED;
+            }
+            List<Claim> held = jdbcTemplate.query(
+                    "SELECT fingerprint, status, headers, body FROM idempotency_key WHERE key = ?",
+                    (rs, row) -> rs.getObject("status") == null
+                            ? Claim.IN_PROGRESS
+                            : Claim.completed(new IdempotentResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                                    readHeaders(rs.getString("headers")), rs.getBytes("body"))),
+                    key);
+            // Otherwise released or deleted in between, and free again
+            if (!held.isEmpty()) {
+                return held.getFirst();
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update("""
+                        UPDATE idempotency_key
+                        SET status = ?, headers = ?::jsonb, body = ?, expires_at = now() + make_interval(secs => ?)
+                        WHERE key = ?""",
+                response.status(), writeHeaders(response.headers()), response.body(), ttlSeconds, key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE key = ? AND status IS NULL", key);
+    }
+
+    /**
+     * @return rows deleted
+     */
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at < now()");
+    }
+
+    private Map<String, List<String>> readHeaders(String json) {
+        try {
+            return objectMapper.readValue(json, HEADERS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String writeHeaders(Map<String, List<String>> headers) {
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code permits} callers hold a connection at a time and queues the rest in arrival order.
+ * <p>
+ * Sized to the pool, this keeps waiting callers out of the pool's own wait (which fails after its
+ * connection timeout) and parks them on a fair semaphore instead, which is cheap for virtual threads.
+ * The permit is released when the returned connection is closed.
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+
+    private final ResizableSemaphore permits;
+
+    private int size;
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    public AdmissionControlDataSource(DataSource targetDataSource, int permits) {
+        super(targetDataSource);
+        Assert.isTrue(permits > 0, "permits must be greater than 0");
+        this.permits = new ResizableSemaphore(permits);
+        this.size = permits;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Follows a resized pool. Fewer permits take effect as connections are closed, more right away.
+     */
+    public synchronized void setPermits(int permits) {
+        Assert.isTrue(permits > 0, "permits must be greater than 0");
+        if (permits > size) {
+            this.permits.release(permits - size);
+        } else {
+            this.permits.reducePermits(size - permits);
+        }
+        size = permits;
+    }
+
+    public synchronized int getPermits() {
+        return size;
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * Time spent queued for a permit by all callers, in nanoseconds. The wait in the pool itself is not included.
+     */
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+            waitNanos.add(System.nanoTime() - start);
+            acquired.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    private Connection releasingOnClose(Connection target) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            target.close();
+                        } finally {
+                            // close() may be called more than once, the permit must only go back once
+                            if (closed.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
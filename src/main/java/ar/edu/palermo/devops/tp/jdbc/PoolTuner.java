@@ -0,0 +1,224 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Works out the size the connection pool needs from what its meters recorded since the last evaluation.
+ * <p>
+ * By Little's law the time connections were held, divided by the time elapsed, is how many were busy on average;
+ * the time callers waited for one, divided the same way, is how many were waiting. Both together are the demand,
+ * and the recommended size is the demand over the target utilization, within bounds. The mean number of requests
+ * in progress is measured the same way and reported alongside.
+ * <p>
+ * When adjusting, the pool grows at most to twice its size per evaluation and shrinks by one connection at a time.
+ * If a growth did not raise the connections handed out per second while callers kept waiting, the database rather
+ * than the pool is the bottleneck: the pool goes back to its previous size and does not grow past it for a while.
+ */
+@Slf4j
+public class PoolTuner {
+    private static final int MAX_DECISIONS = 20;
+
+    // Evaluations during which a size that did not help is not tried again
+    private static final int HOLD_EVALUATIONS = 10;
+
+    // Throughput a growth must add to be kept
+    private static final double MIN_GAIN = 1.05;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /**
+     * Averages over one evaluation interval.
+     */
+    public record Measurements(double concurrentRequests, double busyConnections, double waitingCallers,
+                               double acquisitionsPerSecond, double meanUsageMillis, double meanWaitMillis) {
+    }
+
+    public record Decision(Instant at, int size, int recommendedSize, boolean applied, Measurements measurements,
+                           String reason) {
+    }
+
+    public record Report(boolean adjust, int minSize, int maxSize, int size, int recommendedSize,
+                         List<Decision> decisions) {
+    }
+
+    private record Totals(double acquisitions, double usageNanos, double waitNanos, double requestNanos) {
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final HikariConfigMXBean pool;
+
+    private final AdmissionControlDataSource admission;
+
+    private final boolean adjust;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final double targetUtilization;
+
+    private final LongSupplier nanoTime;
+
+    private final Deque<Decision> decisions = new ArrayDeque<>();
+
+    private volatile int recommendedSize;
+
+    private long lastNanos;
+
+    private Totals last;
+
+    // Size before the last growth and the throughput at that size, while the growth is being judged
+    private int grownFrom;
+
+    private double throughputBeforeGrowth;
+
+    private int ceiling;
+
+    private int holdEvaluations;
+
+    /**
+     * @param admission null when callers are not queued in front of the pool
+     */
+    public PoolTuner(MeterRegistry meterRegistry, HikariConfigMXBean pool, AdmissionControlDataSource admission,
+                     boolean adjust, int minSize, int maxSize, double targetUtilization, LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.pool = pool;
+        this.admission = admission;
+        this.adjust = adjust;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetUtilization = targetUtilization;
+        this.nanoTime = nanoTime;
+        this.recommendedSize = pool.getMaximumPoolSize();
+        this.ceiling = maxSize;
+        this.lastNanos = nanoTime.getAsLong();
+        this.last = totals();
+        Gauge.builder("jdbc.connections.recommended", this, PoolTuner::getRecommendedSize)
+                .description("Connection pool size recommended by the pool tuner")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+    }
+
+    public int getRecommendedSize() {
+        return recommendedSize;
+    }
+
+    public synchronized Report report() {
+        return new Report(adjust, minSize, maxSize, pool.getMaximumPoolSize(), recommendedSize, List.copyOf(decisions));
+    }
+
+    // Runs on the scheduler only, one evaluation at a time
+    public synchronized void evaluate() {
+        long now = nanoTime.getAsLong();
+        double elapsedNanos = Math.max(1, now - lastNanos);
+        Totals totals = totals();
+        double acquisitions = totals.acquisitions() - last.acquisitions();
+        double usageNanos = totals.usageNanos() - last.usageNanos();
+        double waitNanos = totals.waitNanos() - last.waitNanos();
+        Measurements measurements = new Measurements(
+                (totals.requestNanos() - last.requestNanos()) / elapsedNanos,
+                usageNanos / elapsedNanos,
+                waitNanos / elapsedNanos,
+                acquisitions / elapsedNanos * NANOS_PER_SECOND,
+                acquisitions > 0 ? usageNanos / acquisitions / NANOS_PER_MILLI : 0,
+                acquisitions > 0 ? waitNanos / acquisitions / NANOS_PER_MILLI : 0);
+        lastNanos = now;
+        last = totals;
+
+        int size = pool.getMaximumPoolSize();
+        String reason;
+        boolean bottleneck = grownFrom > 0 && measurements.waitingCallers() > 0
+                && measurements.acquisitionsPerSecond() < throughputBeforeGrowth * MIN_GAIN;
+        if (bottleneck) {
+            reason = "growing from %d to %d connections did not raise throughput, the database is the bottleneck"
+                    .formatted(grownFrom, size);
+            ceiling = grownFrom;
+            holdEvaluations = HOLD_EVALUATIONS;
+        } else {
+            reason = "%.1f connections busy and %.1f callers waiting on average"
+                    .formatted(measurements.busyConnections(), measurements.waitingCallers());
+        }
+        if (holdEvaluations > 0 && --holdEvaluations == 0) {
+            ceiling = maxSize;
+        }
+        int demand = (int) Math.ceil((measurements.busyConnections() + measurements.waitingCallers()) / targetUtilization);
+        int recommended = Math.clamp(demand, minSize, Math.max(minSize, ceiling));
+
+        int next = size;
+        if (bottleneck) {
+            next = ceiling;
+        } else if (recommended > size) {
+            next = Math.min(recommended, size * 2);
+        } else if (recommended < size) {
+            next = size - 1;
+        }
+        boolean applied = adjust && next != size;
+        grownFrom = applied && next > size ? size : 0;
+        throughputBeforeGrowth = measurements.acquisitionsPerSecond();
+        if (applied) {
+            resize(size, next);
+            log.info("Connection pool resized from {} to {}: {}", size, next, reason);
+        } else if (recommended != recommendedSize && !adjust) {
+            log.info("Connection pool of {} should have {}: {}", size, recommended, reason);
+        }
+        recommendedSize = recommended;
+
+        decisions.addFirst(new Decision(Instant.now(), applied ? next : size, recommended, applied, measurements, reason));
+        if (decisions.size() > MAX_DECISIONS) {
+            decisions.removeLast();
+        }
+    }
+
+    // Admission permits never exceed the pool size, so admitted callers do not queue in the pool as well
+    private void resize(int from, int to) {
+        if (to > from) {
+            pool.setMaximumPoolSize(to);
+            pool.setMinimumIdle(to);
+            if (admission != null) {
+                admission.setPermits(to);
+            }
+        } else {
+            if (admission != null) {
+                admission.setPermits(to);
+            }
+            pool.setMinimumIdle(to);
+            pool.setMaximumPoolSize(to);
+        }
+    }
+
+    private Totals totals() {
+        String poolName = pool.getPoolName();
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        double waitNanos = acquire == null ? 0 : acquire.totalTime(TimeUnit.NANOSECONDS);
+        // Admission control queues callers in front of the pool (VirtualThreadConfig)
+        FunctionTimer admissionWait = meterRegistry.find("jdbc.connections.admission.wait").functionTimer();
+        if (admissionWait != null) {
+            waitNanos += admissionWait.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double requestNanos = 0;
+        for (Meter meter : meterRegistry.find("http.server.requests").meters()) {
+            if (meter instanceof Timer timer) {
+                requestNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            }
+        }
+        return new Totals(usage == null ? 0 : usage.count(), usage == null ? 0 : usage.totalTime(TimeUnit.NANOSECONDS),
+                waitNanos, requestNanos);
+    }
+}
@@ -0,0 +1,23 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/pool}: the size of the connection pool, the size {@link PoolTuner} recommends and its latest
+ * decisions with the measurements behind them, newest first.
+ */
+@Endpoint(id = "pool")
+public class PoolTuningEndpoint {
+
+    private final PoolTuner poolTuner;
+
+    public PoolTuningEndpoint(PoolTuner poolTuner) {
+        this.poolTuner = poolTuner;
+    }
+
+    @ReadOperation
+    public PoolTuner.Report report() {
+        return poolTuner.report();
+    }
+}
@@ -0,0 +1,96 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * A streaming replica and how far behind the primary it was when last measured.
+ * <p>
+ * The lag is the age of the last transaction the replica replayed, or 0 when it has replayed everything it
+ * received (an idle primary sends nothing, which must not read as growing lag). A server that is not in
+ * recovery is never behind. Until the first measurement, and after any failure to reach it, the replica is
+ * considered unusable.
+ */
+@Slf4j
+public class ReadReplica {
+
+    static final String LAG_SQL = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) END""";
+
+    private final DataSource dataSource;
+
+    private final double maxLagSeconds;
+
+    // Infinite when unknown, NaN would make the gauge disappear from some backends
+    private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+    public ReadReplica(DataSource dataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.maxLagSeconds = maxLag.toMillis() / 1000d;
+        Gauge.builder("jdbc.replica.lag", this, ReadReplica::getLagSeconds)
+                .description("Replay lag of the read replica, infinite while it cannot be reached")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public boolean isUsable() {
+        return lagSeconds <= maxLagSeconds;
+    }
+
+    public void checkLag() {
+        double lag;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            resultSet.next();
+            lag = resultSet.getDouble(1);
+            // Nothing replayed yet
+            if (resultSet.wasNull()) {
+                lag = Double.POSITIVE_INFINITY;
+            }
+        } catch (SQLException ex) {
+            log.debug("Could not measure the replica lag", ex);
+            lag = Double.POSITIVE_INFINITY;
+        }
+        update(lag);
+    }
+
+    /**
+     * Takes the replica out of use until the next successful measurement.
+     */
+    public void markUnavailable(SQLException cause) {
+        log.debug("Read replica unavailable", cause);
+        update(Double.POSITIVE_INFINITY);
+    }
+
+    private void update(double lag) {
+        boolean wasUsable = isUsable();
+        lagSeconds = lag;
+        if (wasUsable && !isUsable()) {
+            if (Double.isInfinite(lag)) {
+                log.warn("Read replica unreachable, reading from the primary");
+            } else {
+                log.warn("Read replica {}s behind, reading from the primary", String.format("%.1f", lag));
+            }
+        } else if (!wasUsable && isUsable()) {
+            log.info("Read replica {}s behind, reading from it", String.format("%.1f", lag));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends the work of read-only transactions to a {@link ReadReplica} and everything else to the primary.
+ * <p>
+ * Connections are only taken from a pool when first used, by which time the transaction manager has marked
+ * the connection of a {@code @Transactional(readOnly = true)} method read-only; that flag is what routes it.
+ * A read-only connection still comes from the primary when the current thread is {@linkplain #pinToPrimary()
+ * pinned} to it, when the replica is too far behind, or when it cannot be reached.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReadReplica replica;
+
+    private final Counter toReplica;
+
+    private final Counter pinned;
+
+    private final Counter lagging;
+
+    private final Counter unavailable;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplica replica, MeterRegistry meterRegistry) {
+        super(primary);
+        this.replica = replica;
+        this.toReplica = readOnlyConnections(meterRegistry, "replica");
+        this.pinned = readOnlyConnections(meterRegistry, "pinned");
+        this.lagging = readOnlyConnections(meterRegistry, "lagging");
+        this.unavailable = readOnlyConnections(meterRegistry, "unavailable");
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+    }
+
+    /**
+     * Sends the read-only transactions of the current thread to the primary until the returned pin is closed.
+     * Pins nest: only closing the outermost one releases the thread.
+     */
+    public static Pin pinToPrimary() {
+        if (isPinnedToPrimary()) {
+            return () -> {
+            };
+        }
+        PINNED.set(Boolean.TRUE);
+        return PINNED::remove;
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    private static Counter readOnlyConnections(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("jdbc.connections.read-only")
+                .description("Connections used by read-only transactions, by where they were sent and why")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (isPinnedToPrimary()) {
+                pinned.increment();
+                return obtainTargetDataSource().getConnection();
+            }
+            if (!replica.isUsable()) {
+                lagging.increment();
+                return obtainTargetDataSource().getConnection();
+            }
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                toReplica.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.markUnavailable(ex);
+                unavailable.increment();
+                return obtainTargetDataSource().getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            // The replica has its own credentials
+            return obtainTargetDataSource().getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Pins the requests of a client that sent a write in the last {@code window} to the primary, so it does not
+ * read a replica that has not replayed that write yet.
+ * <p>
+ * Clients are told apart as in {@code RateLimitFilter}. A client is remembered when its write arrives rather
+ * than when it completes: the response may reach it, and its next read arrive, before this filter returns.
+ * Only this node remembers; behind a load balancer without affinity a client may read from another node's
+ * replica within the window.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String clientHeader;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(String clientHeader, Duration window, int maxClients) {
+        this.clientHeader = clientHeader;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = client(request);
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (read && recentWriters.getIfPresent(client) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!read) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+        try (ReadWriteRoutingDataSource.Pin pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return StringUtils.hasText(client) ? "key:" + client : "address:" + request.getRemoteAddr();
+    }
+}
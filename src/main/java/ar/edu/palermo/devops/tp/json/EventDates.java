@@ -0,0 +1,80 @@
+package ar.edu.palermo.devops.tp.json;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * The {@code yyyy-MM-dd'T'HH:mm} event date, written and read digit by digit instead of through a
+ * {@code DateTimeFormatter}, which builds a String and parses into intermediate objects every time.
+ */
+final class EventDates {
+    static final int LENGTH = 16;
+
+    private EventDates() {
+    }
+
+    /**
+     * Writes the date into the first {@link #LENGTH} chars of the buffer. Years outside 0-9999 are not written.
+     *
+     * @return false when the date does not fit the format
+     */
+    static boolean format(LocalDateTime date, char[] buffer) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return false;
+        }
+        digits(buffer, 0, year / 100);
+        digits(buffer, 2, year % 100);
+        buffer[4] = '-';
+        digits(buffer, 5, date.getMonthValue());
+        buffer[7] = '-';
+        digits(buffer, 8, date.getDayOfMonth());
+        buffer[10] = 'T';
+        digits(buffer, 11, date.getHour());
+        buffer[13] = ':';
+        digits(buffer, 14, date.getMinute());
+        return true;
+    }
+
+    /**
+     * @return null when the chars are not exactly a date in the format, to be parsed the general way
+     */
+    static LocalDateTime parse(char[] text, int offset, int length) {
+        if (length != LENGTH || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':') {
+            return null;
+        }
+        int year = number(text, offset, 4);
+        int month = number(text, offset + 5, 2);
+        int day = number(text, offset + 8, 2);
+        int hour = number(text, offset + 11, 2);
+        int minute = number(text, offset + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0
+                || minute > 59) {
+            return null;
+        }
+        // Days past the end of the month are left to the general parser and its error message
+        if (day > 28 && day > YearMonth.of(year, month).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    private static void digits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    // -1 when a char is not a digit
+    private static int number(char[] text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
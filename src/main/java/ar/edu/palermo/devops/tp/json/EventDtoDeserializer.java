@@ -0,0 +1,67 @@
+package ar.edu.palermo.devops.tp.json;
+
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Reads an {@link EventDto} field by field into its constructor, without the property buffering the bean
+ * deserializer does for records. Dates exactly in the {@code yyyy-MM-dd'T'HH:mm} form the API writes are parsed
+ * from the parser's chars; any other value, and any other token for a field, goes to the deserializer Jackson
+ * would have used, so what is accepted and the errors reported do not change. Unknown fields are handled as the
+ * mapper is configured to.
+ */
+public class EventDtoDeserializer extends StdDeserializer<EventDto> {
+
+    public EventDtoDeserializer() {
+        super(EventDto.class);
+    }
+
+    @Override
+    public EventDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String field;
+        if (p.isExpectedStartObjectToken()) {
+            field = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            // Replayed from a buffer, past the START_OBJECT
+            field = p.currentName();
+        } else {
+            return (EventDto) ctxt.handleUnexpectedToken(EventDto.class, p);
+        }
+        Long id = null;
+        String name = null;
+        String description = null;
+        LocalDateTime date = null;
+        for (; field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "id" -> id = token == JsonToken.VALUE_NUMBER_INT ? p.getLongValue() : readOther(p, ctxt, Long.class);
+                case "name" -> name = token == JsonToken.VALUE_STRING ? p.getText() : readOther(p, ctxt, String.class);
+                case "description" ->
+                        description = token == JsonToken.VALUE_STRING ? p.getText() : readOther(p, ctxt, String.class);
+                case "date" -> date = readDate(p, ctxt, token);
+                default -> ctxt.handleUnknownProperty(p, this, EventDto.class, field);
+            }
+        }
+        return new EventDto(id, name, description, date);
+    }
+
+    private static LocalDateTime readDate(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            LocalDateTime date = EventDates.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (date != null) {
+                return date;
+            }
+        }
+        return readOther(p, ctxt, LocalDateTime.class);
+    }
+
+    private static <T> T readOther(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+    }
+}
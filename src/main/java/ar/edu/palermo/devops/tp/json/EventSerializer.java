@@ -0,0 +1,72 @@
+package ar.edu.palermo.devops.tp.json;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an {@link Event} field by field, as the bean serializer would with the annotations on {@code Event}:
+ * same names and order, nulls included, {@code updatedAt} left out and the date as {@code yyyy-MM-dd'T'HH:mm}.
+ * The date digits go into a char buffer kept per thread and the field names are pre-encoded, so nothing is
+ * allocated per event. Works with every Jackson format the API negotiates.
+ */
+public class EventSerializer extends StdSerializer<Event> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString DATE = new SerializedString("date");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    // Only for years EventDates does not write
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    // Reused by every event the thread writes: writeString(char[], int, int) copies the chars before returning
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[EventDates.LENGTH]);
+
+    public EventSerializer() {
+        super(Event.class);
+    }
+
+    @Override
+    public void serialize(Event event, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(event);
+        gen.writeFieldName(ID);
+        writeNumber(gen, event.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(event.getName());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(event.getDescription());
+        gen.writeFieldName(DATE);
+        writeDate(gen, event.getDate());
+        gen.writeFieldName(VERSION);
+        writeNumber(gen, event.getVersion());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeDate(JsonGenerator gen, LocalDateTime date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        char[] buffer = DATE_BUFFER.get();
+        if (EventDates.format(date, buffer)) {
+            gen.writeString(buffer, 0, EventDates.LENGTH);
+        } else {
+            gen.writeString(DATE_FORMAT.format(date));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ar.edu.palermo.devops.tp.mapper;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+// Generated at compile time (EventMapperImpl): plain getter/setter calls, no reflection.
+// @Timed goes on the generated class, where the TimedAspect looks for it
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "events.mapping"))
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+public interface EventMapper {
+
+    // The id is generated by the database, version and updatedAt are maintained by Hibernate. A new event with
+    // an id but no version would be taken for a detached one and fail to persist
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Event toEvent(EventDto eventDto);
+
+    // Null fields in the dto leave the current value untouched; the id only selects the event to update
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEvent(EventDto eventDto, @MappingTarget Event event);
+}
@@ -0,0 +1,66 @@
+package ar.edu.palermo.devops.tp.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Times the JSON request and response bodies as {@code events.json}, tagged with the operation ({@code read}
+ * or {@code write}) and the body type. Writes include flushing the body to the response buffer.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private static final Pattern PACKAGE = Pattern.compile("[\\w$]+\\.(?=[\\w$]+)");
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Type, Timer> readTimers = new ConcurrentHashMap<>();
+
+    private final Map<Type, Timer> writeTimers = new ConcurrentHashMap<>();
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(readTimers.computeIfAbsent(type, t -> timer("read", t)));
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            // Type variables (e.g. the T of a generic handler) are tagged with the runtime class instead
+            Type written = type != null && ResolvableType.forType(type).resolve() != null ? type : object.getClass();
+            sample.stop(writeTimers.computeIfAbsent(written, t -> timer("write", t)));
+        }
+    }
+
+    // Short type names, e.g. List<Event>
+    private Timer timer(String operation, Type type) {
+        return Timer.builder("events.json")
+                .description("Jackson serialization of request and response bodies")
+                .tag("operation", operation)
+                .tag("type", PACKAGE.matcher(ResolvableType.forType(type).toString()).replaceAll(""))
+                .register(meterRegistry);
+    }
+}
@@ -1,22 +1,38 @@
 package ar.edu.palermo.devops.tp.model;
 
+import ar.edu.palermo.devops.tp.json.EventSerializer;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Writes what the annotations below describe, without the bean serializer's per-property overhead
+@JsonSerialize(using = EventSerializer.class)
 public class Event {
-    @Id @GeneratedValue(strategy = GenerationType.AUTO)
+    // Pooled sequence: ids are reserved in blocks of 50 so inserts can be JDBC batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
 
     @Size(min = 3, max = 50, message = "Name must be between 3 and 50 characters")
@@ -31,5 +47,12 @@ public class Event {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime date;
 
-    
+    // Incremented on every write; it is the ETag of the event and the check behind If-Match
+    @Version
+    private Long version;
+
+    // Sent as Last-Modified only
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
 }
@@ -0,0 +1,51 @@
+package ar.edu.palermo.devops.tp.model;
+
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+
+import java.time.Instant;
+
+/**
+ * A committed write on an event, as published on {@code GET /api/v1/events/changes}. An import is a single
+ * {@link Type#IMPORTED} change, without event, that tells readers to reload.
+ *
+ * @param sequence position in the change log, assigned when the change is appended
+ * @param event    state of the event after the change, null when it was deleted
+ */
+public record EventChange(
+        long sequence,
+        Type type,
+        Long eventId,
+        Long version,
+        EventDto event,
+        Instant timestamp
+) {
+    public enum Type {
+        CREATED, UPDATED, DELETED, IMPORTED
+    }
+
+    public static EventChange created(Event event) {
+        return of(Type.CREATED, event);
+    }
+
+    public static EventChange updated(Event event) {
+        return of(Type.UPDATED, event);
+    }
+
+    public static EventChange deleted(Long eventId) {
+        return new EventChange(0, Type.DELETED, eventId, null, null, Instant.now());
+    }
+
+    public static EventChange imported() {
+        return new EventChange(0, Type.IMPORTED, null, null, null, Instant.now());
+    }
+
+    public EventChange withSequence(long sequence) {
+        return new EventChange(sequence, type, eventId, version, event, timestamp);
+    }
+
+    // Copied, so later changes to the entity do not leak into the published record
+    private static EventChange of(Type type, Event event) {
+        EventDto state = new EventDto(event.getId(), event.getName(), event.getDescription(), event.getDate());
+        return new EventChange(0, type, event.getId(), event.getVersion(), state, Instant.now());
+    }
+}
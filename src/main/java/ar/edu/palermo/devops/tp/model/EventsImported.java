@@ -0,0 +1,17 @@
+package ar.edu.palermo.devops.tp.model;
+
+import java.util.List;
+
+/**
+ * Events loaded in bulk by an import. They are written without an {@link EventChange} each, so whatever follows
+ * the changes event by event has to reload instead, or read the imported events by their ids.
+ *
+ * @param ids ranges of consecutive ids, in order, that hold the imported events and nothing else
+ */
+public record EventsImported(long count, List<IdRange> ids) {
+
+    /**
+     * Ids from {@code first} to {@code last}, both included.
+     */
+    public record IdRange(long first, long last) {}
+}
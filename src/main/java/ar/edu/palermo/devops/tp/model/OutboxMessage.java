@@ -0,0 +1,38 @@
+package ar.edu.palermo.devops.tp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * An {@link EventChange} waiting in the outbox to be dispatched.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+    // Pooled like event_seq, so the rows written by a batch request are inserted as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private EventChange.Type type;
+
+    private Long eventId;
+
+    private Long version;
+
+    // EventChange.event as JSON, null for deletions
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    private Instant createdAt;
+}
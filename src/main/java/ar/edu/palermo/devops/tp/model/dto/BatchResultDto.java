@@ -0,0 +1,39 @@
+package ar.edu.palermo.devops.tp.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record BatchResultDto(
+        int succeeded,
+        int failed,
+        List<Item> items
+) {
+
+    public static BatchResultDto of(List<Item> items) {
+        int succeeded = (int) items.stream().filter(Item::succeeded).count();
+        return new BatchResultDto(succeeded, items.size() - succeeded, items);
+    }
+
+    public record Item(
+            int index,
+            Long id,
+            Status status,
+            Map<String, String> errors
+    ) {
+        public static Item succeeded(int index, Long id, Status status) {
+            return new Item(index, id, status, Map.of());
+        }
+
+        public static Item failed(int index, Long id, Status status, Map<String, String> errors) {
+            return new Item(index, id, status, errors);
+        }
+
+        public boolean succeeded() {
+            return errors.isEmpty();
+        }
+    }
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+}
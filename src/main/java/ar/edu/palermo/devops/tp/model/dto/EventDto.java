@@ -1,11 +1,14 @@
 package ar.edu.palermo.devops.tp.model.dto;
 
+import ar.edu.palermo.devops.tp.json.EventDtoDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
 
+@JsonDeserialize(using = EventDtoDeserializer.class)
 public record EventDto(
         Long id,
         @Size(min = 3, max = 50, message = "Name must be between 3 and 50 characters")
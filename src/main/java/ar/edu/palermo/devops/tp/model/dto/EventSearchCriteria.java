@@ -0,0 +1,18 @@
+package ar.edu.palermo.devops.tp.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of {@code GET /api/v1/events/search}; null values are not applied.
+ *
+ * @param from events on or after this date
+ * @param to   events on or before this date
+ * @param name case-insensitive prefix of the name
+ * @param text full-text query on the description
+ */
+public record EventSearchCriteria(
+        LocalDateTime from,
+        LocalDateTime to,
+        String name,
+        String text
+) {}
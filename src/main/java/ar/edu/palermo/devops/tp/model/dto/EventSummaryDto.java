@@ -0,0 +1,16 @@
+package ar.edu.palermo.devops.tp.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a listing needs to show an event, read without loading the whole event.
+ */
+public record EventSummaryDto(
+        Long id,
+        String name,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm")
+        LocalDateTime date
+) {
+}
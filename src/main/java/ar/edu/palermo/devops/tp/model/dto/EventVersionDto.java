@@ -0,0 +1,18 @@
+package ar.edu.palermo.devops.tp.model.dto;
+
+import ar.edu.palermo.devops.tp.model.Event;
+
+import java.time.Instant;
+
+/**
+ * What conditional requests are evaluated against, read without loading the whole event.
+ */
+public record EventVersionDto(
+        Long id,
+        Long version,
+        Instant updatedAt
+) {
+    public static EventVersionDto of(Event event) {
+        return new EventVersionDto(event.getId(), event.getVersion(), event.getUpdatedAt());
+    }
+}
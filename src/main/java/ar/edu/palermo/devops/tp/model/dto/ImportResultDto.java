@@ -0,0 +1,24 @@
+package ar.edu.palermo.devops.tp.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param rejections          the first rejected rows, up to {@code events.bulk-import.max-rejections}
+ * @param rejectionsTruncated whether more rows were rejected than are listed
+ */
+public record ImportResultDto(
+        long imported,
+        long rejected,
+        List<Rejection> rejections,
+        boolean rejectionsTruncated
+) {
+
+    /**
+     * @param line line of the body the row starts on, from 1
+     */
+    public record Rejection(
+            long line,
+            Map<String, String> errors
+    ) {}
+}
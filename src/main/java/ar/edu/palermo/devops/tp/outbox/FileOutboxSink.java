@@ -0,0 +1,54 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// Appends the changes to a file, one JSON object per line, and forces them to disk before the batch is deleted
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+    private final FileChannel channel;
+
+    private final ObjectWriter writer;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        this.writer = objectMapper.writerFor(EventChange.class);
+    }
+
+    @Override
+    public synchronized void publish(List<EventChange> changes) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (EventChange change : changes) {
+                lines.write(writer.writeValueAsBytes(change));
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
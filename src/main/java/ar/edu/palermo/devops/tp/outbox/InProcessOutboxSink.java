@@ -0,0 +1,22 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Hands the changes to subscribers in this JVM, on the dispatcher thread; a subscriber that throws fails the batch
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final List<Consumer<EventChange>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<EventChange> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void publish(List<EventChange> changes) {
+        changes.forEach(change -> subscribers.forEach(subscriber -> subscriber.accept(change)));
+    }
+}
@@ -0,0 +1,107 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.OutboxMessage;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves the outbox to the {@link OutboxSink} in batches, each one locked, published and deleted in a
+ * transaction of its own. A batch that fails stays in the outbox and is retried, whole, by the next drain.
+ */
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxRepository outboxRepository;
+
+    private final OutboxSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final Timer lag;
+
+    private final Counter published;
+
+    private final Counter failures;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, OutboxSink sink, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry, int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.lag = Timer.builder("events.outbox.lag")
+                .description("Time from an event change to its publication to the outbox sink")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("events.outbox.published")
+                .description("Event changes published to the outbox sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("events.outbox.failures")
+                .description("Outbox batches that could not be published and were left for the next drain")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Dispatches batches until the outbox is empty, or a batch fails.
+     */
+    public void drain() {
+        try {
+            List<OutboxMessage> batch;
+            do {
+                batch = transactionTemplate.execute(status -> dispatchBatch());
+                record(batch);
+            } while (batch != null && batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Could not dispatch the event outbox, retrying on the next drain", e);
+        }
+    }
+
+    private List<OutboxMessage> dispatchBatch() {
+        List<OutboxMessage> batch = outboxRepository.lockNextBatch(batchSize);
+        if (!batch.isEmpty()) {
+            sink.publish(batch.stream().map(this::toChange).toList());
+            outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxMessage::getId).toList());
+        }
+        return batch;
+    }
+
+    // After the commit, so a batch that is rolled back and published again is only counted once
+    private void record(List<OutboxMessage> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        batch.forEach(message -> lag.record(Duration.between(message.getCreatedAt(), now)));
+        published.increment(batch.size());
+    }
+
+    private EventChange toChange(OutboxMessage message) {
+        try {
+            EventDto event = message.getPayload() == null ? null : objectMapper.readValue(message.getPayload(), EventDto.class);
+            return new EventChange(message.getId(), message.getType(), message.getEventId(), message.getVersion(),
+                    event, message.getCreatedAt());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+
+import java.util.List;
+
+/**
+ * Destination of the changes drained from the outbox.
+ * <p>
+ * Delivery is at least once: a batch is deleted from the outbox only after {@link #publish} returns, and is
+ * published again when it throws or the deletion does not commit. Consumers discard repeated or stale changes
+ * by event id and version.
+ */
+public interface OutboxSink {
+
+    /**
+     * @param changes in outbox order, each with its outbox id as sequence
+     */
+    void publish(List<EventChange> changes);
+}
@@ -0,0 +1,57 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import ar.edu.palermo.devops.tp.model.OutboxMessage;
+import ar.edu.palermo.devops.tp.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Writes every {@link EventChange} to the outbox from the transaction that made the change, so the row
+ * commits or rolls back with it. The request only pays for one more insert, batched with the event's own.
+ * Imported events get theirs from the import's transaction too, copied by the database from the event table.
+ */
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Mandatory: outside a transaction the row could commit without the change, or the change without the row
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EventChange change) {
+        outboxRepository.save(OutboxMessage.builder()
+                .type(change.type())
+                .eventId(change.eventId())
+                .version(change.version())
+                .payload(change.event() == null ? null : toJson(change))
+                .createdAt(change.timestamp())
+                .build());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EventsImported imported) {
+        imported.ids().forEach(range -> outboxRepository.appendCreated(range.first(), range.last()));
+    }
+
+    private String toJson(EventChange change) {
+        try {
+            return objectMapper.writeValueAsString(change.event());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
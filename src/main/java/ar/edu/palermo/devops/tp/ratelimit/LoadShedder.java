@@ -0,0 +1,122 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects a share of the requests while the service is overloaded, so those admitted still get a connection
+ * and an answer in time.
+ * <p>
+ * The service is overloaded while the mean wait for a database connection since the last evaluation, or the
+ * p99 latency of the admitted requests, is above its limit. The share grows by a step on every evaluation that
+ * finds it overloaded and shrinks by a step on every one that does not; it never reaches every request, so
+ * the latency keeps being measured.
+ */
+@Slf4j
+public class LoadShedder {
+    private static final double STEP = 0.1;
+
+    private static final double MAX_SHED = 0.9;
+
+    // Admission control wait when connections are queued in front of the pool (VirtualThreadConfig), Hikari's otherwise
+    private static final String[] CONNECTION_WAIT_TIMERS = {"jdbc.connections.admission.wait", "hikaricp.connections.acquire"};
+
+    private final MeterRegistry meterRegistry;
+
+    private final long maxConnectionWaitNanos;
+
+    private final long maxLatencyNanos;
+
+    private final Timer latency;
+
+    private volatile double shed;
+
+    private double lastWaitCount;
+
+    private double lastWaitNanos;
+
+    public LoadShedder(MeterRegistry meterRegistry, Duration maxConnectionWait, Duration maxLatency,
+                       Duration evaluationInterval) {
+        this.meterRegistry = meterRegistry;
+        this.maxConnectionWaitNanos = maxConnectionWait.toNanos();
+        this.maxLatencyNanos = maxLatency.toNanos();
+        // Percentiles over the last few evaluations only, so a past spike does not keep the service shedding
+        this.latency = Timer.builder("events.load.latency")
+                .description("Time to serve the admitted requests, as seen by the load shedder")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(evaluationInterval.multipliedBy(3))
+                .distributionStatisticBufferLength(3)
+                .register(meterRegistry);
+        Gauge.builder("events.load.shed", this, LoadShedder::getShed)
+                .description("Share of the requests currently rejected to shed load")
+                .register(meterRegistry);
+    }
+
+    public void record(long nanos) {
+        latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean shouldShed() {
+        double current = shed;
+        return current > 0 && ThreadLocalRandom.current().nextDouble() < current;
+    }
+
+    public double getShed() {
+        return shed;
+    }
+
+    // Runs on the scheduler only, one evaluation at a time
+    public void evaluate() {
+        long connectionWait = meanConnectionWaitNanos();
+        long p99 = latencyP99Nanos();
+        boolean overloaded = connectionWait > maxConnectionWaitNanos || p99 > maxLatencyNanos;
+        double previous = shed;
+        shed = overloaded ? Math.min(MAX_SHED, previous + STEP) : Math.max(0, previous - STEP);
+        if (previous == 0 && shed > 0) {
+            log.warn("Shedding load: connection wait {} ms, p99 latency {} ms", connectionWait / 1_000_000, p99 / 1_000_000);
+        } else if (previous > 0 && shed == 0) {
+            log.info("Stopped shedding load");
+        }
+    }
+
+    private long meanConnectionWaitNanos() {
+        for (String name : CONNECTION_WAIT_TIMERS) {
+            double count = 0;
+            double totalNanos = 0;
+            boolean found = false;
+            for (Meter meter : meterRegistry.find(name).meters()) {
+                if (meter instanceof FunctionTimer timer) {
+                    count += timer.count();
+                    totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+                    found = true;
+                } else if (meter instanceof Timer timer) {
+                    count += timer.count();
+                    totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+                    found = true;
+                }
+            }
+            if (found) {
+                double acquired = count - lastWaitCount;
+                double waited = totalNanos - lastWaitNanos;
+                lastWaitCount = count;
+                lastWaitNanos = totalNanos;
+                return acquired > 0 ? (long) (waited / acquired) : 0;
+            }
+        }
+        return 0;
+    }
+
+    private long latencyP99Nanos() {
+        ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+        return percentiles.length == 0 ? 0 : (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,128 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admits a request to the events API only if its client has budget left and the service is not shedding load.
+ * <p>
+ * Clients are told apart by the client header when they send it and by their address otherwise; the header
+ * only identifies, it does not authenticate. Reads and writes have budgets of their own, so a client that reads
+ * a lot can still write. Rejected requests get 429 (client over budget) or 503 (service overloaded), both with
+ * Retry-After, before they hold a thread in the controller or a database connection.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String RATE_LIMITED_ERROR_MSG = "Too many requests, retry after %d seconds";
+    private static final String OVERLOADED_ERROR_MSG = "Service overloaded, retry after %d seconds";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final List<String> BULK_PATHS = List.of("/import", "/export");
+
+    private final String clientHeader;
+
+    private final RateLimiter reads;
+
+    private final RateLimiter writes;
+
+    private final LoadShedder loadShedder;
+
+    private final long shedRetryAfterSeconds;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Outcome, Counter> readOutcomes;
+
+    private final Map<Outcome, Counter> writeOutcomes;
+
+    private enum Outcome {
+        ALLOWED, LIMITED, SHED
+    }
+
+    /**
+     * @param reads       null when rate limiting is disabled, as {@code writes}
+     * @param loadShedder null when load shedding is disabled
+     */
+    public RateLimitFilter(String clientHeader, RateLimiter reads, RateLimiter writes, LoadShedder loadShedder,
+                           long shedRetryAfterSeconds, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.clientHeader = clientHeader;
+        this.reads = reads;
+        this.writes = writes;
+        this.loadShedder = loadShedder;
+        this.shedRetryAfterSeconds = shedRetryAfterSeconds;
+        this.objectMapper = objectMapper;
+        this.readOutcomes = outcomes("read", meterRegistry);
+        this.writeOutcomes = outcomes("write", meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        Map<Outcome, Counter> outcomes = read ? readOutcomes : writeOutcomes;
+        RateLimiter rateLimiter = read ? reads : writes;
+        long waitNanos = rateLimiter == null ? 0 : rateLimiter.tryAcquire(client(request));
+        if (waitNanos > 0) {
+            outcomes.get(Outcome.LIMITED).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND,
+                    RATE_LIMITED_ERROR_MSG);
+            return;
+        }
+        if (loadShedder != null && loadShedder.shouldShed()) {
+            outcomes.get(Outcome.SHED).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, shedRetryAfterSeconds, OVERLOADED_ERROR_MSG);
+            return;
+        }
+        outcomes.get(Outcome.ALLOWED).increment();
+        // An import or export takes as long as its body does to be sent, which says nothing about the load
+        if (loadShedder == null || BULK_PATHS.stream().anyMatch(request.getRequestURI()::endsWith)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            loadShedder.record(System.nanoTime() - start);
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return StringUtils.hasText(client) ? "key:" + client : "address:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("request", message.formatted(retryAfterSeconds)));
+    }
+
+    private static Map<Outcome, Counter> outcomes(String budget, MeterRegistry meterRegistry) {
+        Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("events.ratelimit.requests")
+                    .description("Requests to the events API by rate limiter decision")
+                    .tag("budget", budget)
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,41 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per client. A bucket left alone long enough to refill is the same as a new one, so
+ * buckets idle for that long are dropped, as are the least recently used beyond {@code maxClients}.
+ */
+public class RateLimiter {
+
+    private final int burst;
+
+    private final double rate;
+
+    private final LongSupplier nanoTime;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(int burst, double rate, int maxClients, LongSupplier nanoTime) {
+        this.burst = burst;
+        this.rate = rate;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(burst / rate * 1_000_000_000d)))
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    /**
+     * @return 0 when the client may go on, otherwise the nanoseconds until it may
+     */
+    long tryAcquire(String client) {
+        long now = nanoTime.getAsLong();
+        return buckets.get(client, key -> new TokenBucket(burst, rate, now)).tryTake(now);
+    }
+}
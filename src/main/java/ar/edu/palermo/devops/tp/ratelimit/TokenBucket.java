@@ -0,0 +1,38 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+/**
+ * Holds up to {@code burst} tokens and gains {@code rate} tokens per second, refilled lazily when taken.
+ */
+class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double burst;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    TokenBucket(int burst, double rate, long now) {
+        this.burst = burst;
+        this.tokensPerNano = rate / NANOS_PER_SECOND;
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next one
+     */
+    synchronized long tryTake(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -1,7 +1,64 @@
 package ar.edu.palermo.devops.tp.repository;
 
 import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventVersionDto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+
+    // Lists may come from a read replica that is behind (ReadReplicaConfig), so the events they load only read
+    // the second-level cache; it is filled by findById, which always reads the primary
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "GET"))
+    List<Event> findAll();
+
+    @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "GET"))
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Version probes for conditional requests: three columns, never cached or managed
+    @Query("SELECT new ar.edu.palermo.devops.tp.model.dto.EventVersionDto(e.id, e.version, e.updatedAt) "
+            + "FROM Event e WHERE e.id = :id")
+    Optional<EventVersionDto> findVersionById(Long id);
+
+    @Query("SELECT new ar.edu.palermo.devops.tp.model.dto.EventVersionDto(e.id, e.version, e.updatedAt) "
+            + "FROM Event e WHERE e.id > :after ORDER BY e.id")
+    List<EventVersionDto> findVersionsByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Summary listing: three columns, never cached or managed
+    @Query("SELECT new ar.edu.palermo.devops.tp.model.dto.EventSummaryDto(e.id, e.name, e.date) "
+            + "FROM Event e WHERE e.id > :after ORDER BY e.id")
+    List<EventSummaryDto> findSummariesByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Rebuilds UpcomingEvents: constructed, so the events are neither managed nor put in the second-level cache
+    @Query("SELECT new ar.edu.palermo.devops.tp.model.Event(e.id, e.name, e.description, e.date, e.version, e.updatedAt) "
+            + "FROM Event e WHERE e.date > :now ORDER BY e.date, e.id")
+    List<Event> findUpcoming(LocalDateTime now);
+
+    // Refreshes UpcomingEvents after a change made on another node, whatever the date of the events
+    @Query("SELECT new ar.edu.palermo.devops.tp.model.Event(e.id, e.name, e.description, e.date, e.version, e.updatedAt) "
+            + "FROM Event e WHERE e.id IN :ids")
+    List<Event> findAllDetachedById(Collection<Long> ids);
+
+    // Postgres only opens a server-side cursor when a fetch size is set inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "GET")
+    })
+    Stream<Event> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,30 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Updates the event with a single {@code UPDATE ... RETURNING} statement.
+     * Null values keep the current column value. When {@code expectedVersion} is set, the row is only
+     * updated if it is still at that version.
+     */
+    Optional<Event> updateAndReturn(Long id, String name, String description, LocalDateTime date,
+                                    Long expectedVersion);
+
+    /**
+     * Deletes the event with a single statement and returns the number of deleted rows.
+     */
+    int deleteAndCount(Long id);
+
+    /**
+     * Runs the {@link EventSearchQuery} for the criteria, skipping {@code offset} rows.
+     */
+    List<Event> search(EventSearchCriteria criteria, Sort sort, int limit, long offset);
+}
@@ -0,0 +1,77 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.CacheMode;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+    private static final String UPDATE_RETURNING_SQL = """
+            UPDATE event
+               SET name = COALESCE(CAST(:name AS varchar), name),
+                   description = COALESCE(CAST(:description AS varchar), description),
+                   date = COALESCE(CAST(:date AS timestamp), date),
+                   version = version + 1,
+                   updated_at = now()
+             WHERE id = :id
+               AND version = COALESCE(CAST(:version AS bigint), version)
+            RETURNING *""";
+    // RETURNING keeps Hibernate from treating the statement as a bulk write that invalidates the whole cache region
+    private static final String DELETE_RETURNING_SQL = "DELETE FROM event WHERE id = :id RETURNING id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Event> updateAndReturn(Long id, String name, String description, LocalDateTime date,
+                                           Long expectedVersion) {
+        List<Event> updated = entityManager.createNativeQuery(UPDATE_RETURNING_SQL, Event.class)
+                .unwrap(NativeQuery.class)
+                .setCacheMode(CacheMode.IGNORE)
+                .setParameter("id", id)
+                .setParameter("name", name)
+                .setParameter("description", description)
+                .setParameter("date", date)
+                .setParameter("version", expectedVersion)
+                .getResultList();
+        evictFromSecondLevelCache(id);
+        return updated.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAndCount(Long id) {
+        int deleted = entityManager.createNativeQuery(DELETE_RETURNING_SQL, Long.class)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+        evictFromSecondLevelCache(id);
+        return deleted;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Event> search(EventSearchCriteria criteria, Sort sort, int limit, long offset) {
+        EventSearchQuery search = EventSearchQuery.of(criteria, sort, limit, offset);
+        // Like the lists of EventRepository, may be read from a replica that is behind
+        Query query = entityManager.createNativeQuery(search.sql(), Event.class)
+                .unwrap(NativeQuery.class)
+                .setCacheMode(CacheMode.GET);
+        search.parameters().forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private void evictFromSecondLevelCache(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Event.class, id);
+    }
+}
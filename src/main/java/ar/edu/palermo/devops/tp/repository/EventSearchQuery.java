@@ -0,0 +1,75 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL for the event search, shared by {@link EventRepository} and {@link ReactiveEventRepository}.
+ * Every filter is written in the exact form of its index in {@code V2__event_search_indexes.sql}, otherwise
+ * Postgres cannot use it.
+ */
+public record EventSearchQuery(String sql, Map<String, Object> parameters) {
+
+    public static final List<String> SORTABLE_PROPERTIES = List.of("date", "id", "name");
+
+    private static final String TEXT_SEARCH_CONFIG = "simple";
+
+    public static EventSearchQuery of(EventSearchCriteria criteria, Sort sort, int limit, long offset) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.from() != null) {
+            conditions.add("date >= :from");
+            parameters.put("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            conditions.add("date <= :to");
+            parameters.put("to", criteria.to());
+        }
+        if (StringUtils.hasText(criteria.name())) {
+            // event_name_trgm_idx
+            conditions.add("name ILIKE :namePrefix");
+            parameters.put("namePrefix", escapeLike(criteria.name().strip()) + "%");
+        }
+        if (StringUtils.hasText(criteria.text())) {
+            // event_description_fts_idx
+            conditions.add("to_tsvector('" + TEXT_SEARCH_CONFIG + "', description) @@ websearch_to_tsquery('"
+                    + TEXT_SEARCH_CONFIG + "', :text)");
+            parameters.put("text", criteria.text());
+        }
+        parameters.put("limit", limit);
+        parameters.put("offset", offset);
+
+        StringBuilder sql = new StringBuilder("SELECT id, name, description, date, version, updated_at FROM event");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(orderBy(sort)).append(" LIMIT :limit OFFSET :offset");
+        return new EventSearchQuery(sql.toString(), parameters);
+    }
+
+    // Column names come from SORTABLE_PROPERTIES, never from the request; the id makes the order total for paging
+    private static String orderBy(Sort sort) {
+        List<String> columns = new ArrayList<>();
+        Sort effective = sort.isSorted() ? sort : Sort.by("date");
+        for (Sort.Order order : effective) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort events by " + order.getProperty());
+            }
+            columns.add(order.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (effective.getOrderFor("id") == null) {
+            columns.add("id ASC");
+        }
+        return String.join(", ", columns);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,30 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Rows locked by another dispatcher are skipped instead of waited for, so several instances drain in parallel.
+    // The locks are held until the calling transaction ends
+    @Query(value = "SELECT * FROM event_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(int limit);
+
+    // A CREATED row for each event with an id in the range, in one statement. Each row takes its id straight from
+    // nextval, which reserves a whole block, so it never collides with the ids Hibernate hands out from its blocks.
+    // The payload has the fields of EventDto
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_outbox (id, type, event_id, version, payload, created_at)
+            SELECT nextval('event_outbox_seq'), 'CREATED', e.id, e.version,
+                   jsonb_build_object('id', e.id, 'name', e.name, 'description', e.description, 'date', e.date),
+                   statement_timestamp()
+            FROM event e
+            WHERE e.id BETWEEN :first AND :last
+            ORDER BY e.id""", nativeQuery = true)
+    int appendCreated(long first, long last);
+}
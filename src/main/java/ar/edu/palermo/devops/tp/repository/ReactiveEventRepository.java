@@ -0,0 +1,147 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Same queries as {@link EventRepository}, issued through R2DBC for the reactive variant of the API.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEventRepository {
+
+    private static final String COLUMNS = "id, name, description, date, version, updated_at";
+    private static final List<String> PATCHABLE_COLUMNS = List.of("name", "description", "date");
+
+    // Takes a whole value from event_seq: JPA's pooled optimizer never hands out ids up to a value it did not fetch
+    private static final String INSERT_SQL =
+            "INSERT INTO event (id, name, description, date) VALUES (nextval('event_seq'), :name, :description, :date) "
+                    + "RETURNING " + COLUMNS;
+
+    private static final String UPDATE_SQL = """
+            UPDATE event
+               SET name = COALESCE(:name, name),
+                   description = COALESCE(:description, description),
+                   date = COALESCE(:date, date),
+                   version = version + 1,
+                   updated_at = now()
+             WHERE id = :id
+            RETURNING\s""" + COLUMNS;
+
+    // Rows are pulled from the server in chunks of this size as the subscriber requests them
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Event> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM event WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEventRepository::toEvent)
+                .one();
+    }
+
+    public Flux<Event> findByIdGreaterThanOrderByIdAsc(long after, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM event WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveEventRepository::toEvent)
+                .all();
+    }
+
+    public Flux<Event> streamAllByOrderByIdAsc() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM event ORDER BY id")
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveEventRepository::toEvent)
+                .all();
+    }
+
+    public Flux<Event> search(EventSearchCriteria criteria, Sort sort, int limit, long offset) {
+        EventSearchQuery search = EventSearchQuery.of(criteria, sort, limit, offset);
+        return databaseClient.sql(search.sql())
+                .bindValues(search.parameters())
+                .map(ReactiveEventRepository::toEvent)
+                .all();
+    }
+
+    public Mono<Event> insert(String name, String description, LocalDateTime date) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL);
+        spec = bindNullable(spec, "name", name, String.class);
+        spec = bindNullable(spec, "description", description, String.class);
+        spec = bindNullable(spec, "date", date, LocalDateTime.class);
+        return spec.map(ReactiveEventRepository::toEvent).one();
+    }
+
+    public Mono<Event> updateAndReturn(Long id, String name, String description, LocalDateTime date) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE_SQL).bind("id", id);
+        spec = bindNullable(spec, "name", name, String.class);
+        spec = bindNullable(spec, "description", description, String.class);
+        spec = bindNullable(spec, "date", date, LocalDateTime.class);
+        return spec.map(ReactiveEventRepository::toEvent).one();
+    }
+
+    /**
+     * Writes only the columns named in {@code fields}, which may be set to null.
+     */
+    public Mono<Event> patchAndReturn(Long id, EventDto changes, Set<String> fields) {
+        // Column names come from the fixed set below, never from the request
+        List<String> columns = PATCHABLE_COLUMNS.stream().filter(fields::contains).toList();
+        String assignments = columns.stream()
+                .map(column -> column + " = :" + column)
+                .collect(Collectors.joining(", "));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("UPDATE event SET " + assignments + ", version = version + 1, updated_at = now() "
+                        + "WHERE id = :id RETURNING " + COLUMNS)
+                .bind("id", id);
+        if (columns.contains("name")) {
+            spec = bindNullable(spec, "name", changes.name(), String.class);
+        }
+        if (columns.contains("description")) {
+            spec = bindNullable(spec, "description", changes.description(), String.class);
+        }
+        if (columns.contains("date")) {
+            spec = bindNullable(spec, "date", changes.date(), LocalDateTime.class);
+        }
+        return spec.map(ReactiveEventRepository::toEvent).one();
+    }
+
+    public Mono<Long> deleteAndCount(Long id) {
+        return databaseClient.sql("DELETE FROM event WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Event toEvent(Readable row) {
+        return Event.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .date(row.get("date", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .updatedAt(row.get("updated_at", Instant.class))
+                .build();
+    }
+}
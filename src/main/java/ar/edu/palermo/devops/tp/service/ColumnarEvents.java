@@ -0,0 +1,213 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.model.Event;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Compact columnar encoding of events for large exports.
+ * <p>
+ * Events are written in batches of up to {@value #BATCH_SIZE}. Within a batch each column is stored on its own,
+ * so similar values sit next to each other and ids and dates ordered by id shrink to small deltas. Every integer
+ * is an unsigned LEB128 varint; signed ones are zigzag-encoded first.
+ * <pre>
+ * "EVC1"
+ * batch*       rows, 0 after the last batch
+ *   id           rows deltas from the previous id, the first from 0 (signed)
+ *   version      rows values
+ *   date         presence bitmap of (rows + 7) / 8 bytes, bit i % 8 of byte i / 8 set when row i has a date,
+ *                then for each date its minutes since 1970-01-01T00:00 as a delta from the previous date (signed)
+ *   name         rows UTF-8 lengths, then the bytes of all of them
+ *   description  same as name
+ * </pre>
+ * Dates keep the minute precision of the JSON representation.
+ */
+final class ColumnarEvents {
+    static final int BATCH_SIZE = 4096;
+
+    private static final byte[] MAGIC = "EVC1".getBytes(StandardCharsets.US_ASCII);
+
+    private ColumnarEvents() {
+    }
+
+    // Buffers one batch; nothing is written until it is full or the writer is finished
+    static final class Writer {
+        private final OutputStream out;
+
+        private final long[] ids = new long[BATCH_SIZE];
+
+        private final long[] versions = new long[BATCH_SIZE];
+
+        private final LocalDateTime[] dates = new LocalDateTime[BATCH_SIZE];
+
+        private final byte[][] names = new byte[BATCH_SIZE][];
+
+        private final byte[][] descriptions = new byte[BATCH_SIZE][];
+
+        private int rows;
+
+        Writer(OutputStream out) throws IOException {
+            this.out = out;
+            out.write(MAGIC);
+        }
+
+        void write(Event event) throws IOException {
+            ids[rows] = event.getId();
+            versions[rows] = event.getVersion();
+            dates[rows] = event.getDate();
+            names[rows] = event.getName().getBytes(StandardCharsets.UTF_8);
+            descriptions[rows] = event.getDescription().getBytes(StandardCharsets.UTF_8);
+            if (++rows == BATCH_SIZE) {
+                writeBatch();
+            }
+        }
+
+        // Writes the last batch and the end mark; the stream is left open
+        void finish() throws IOException {
+            if (rows > 0) {
+                writeBatch();
+            }
+            writeVarint(out, 0);
+            out.flush();
+        }
+
+        private void writeBatch() throws IOException {
+            writeVarint(out, rows);
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                writeVarint(out, zigzag(ids[i] - previous));
+                previous = ids[i];
+            }
+            for (int i = 0; i < rows; i++) {
+                writeVarint(out, versions[i]);
+            }
+            byte[] present = new byte[(rows + 7) / 8];
+            for (int i = 0; i < rows; i++) {
+                if (dates[i] != null) {
+                    present[i / 8] |= (byte) (1 << (i % 8));
+                }
+            }
+            out.write(present);
+            previous = 0;
+            for (int i = 0; i < rows; i++) {
+                if (dates[i] != null) {
+                    long minutes = Math.floorDiv(dates[i].toEpochSecond(ZoneOffset.UTC), 60);
+                    writeVarint(out, zigzag(minutes - previous));
+                    previous = minutes;
+                }
+            }
+            writeStrings(names);
+            writeStrings(descriptions);
+            Arrays.fill(dates, 0, rows, null);
+            Arrays.fill(names, 0, rows, null);
+            Arrays.fill(descriptions, 0, rows, null);
+            rows = 0;
+        }
+
+        private void writeStrings(byte[][] values) throws IOException {
+            for (int i = 0; i < rows; i++) {
+                writeVarint(out, values[i].length);
+            }
+            for (int i = 0; i < rows; i++) {
+                out.write(values[i]);
+            }
+        }
+    }
+
+    static void read(InputStream in, Consumer<Event> action) throws IOException {
+        if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+            throw new IOException("Not a columnar events stream");
+        }
+        for (int rows = (int) readVarint(in); rows > 0; rows = (int) readVarint(in)) {
+            long[] ids = new long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                previous += unzigzag(readVarint(in));
+                ids[i] = previous;
+            }
+            long[] versions = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                versions[i] = readVarint(in);
+            }
+            byte[] present = readBytes(in, (rows + 7) / 8);
+            LocalDateTime[] dates = new LocalDateTime[rows];
+            previous = 0;
+            for (int i = 0; i < rows; i++) {
+                if ((present[i / 8] & (1 << (i % 8))) != 0) {
+                    previous += unzigzag(readVarint(in));
+                    dates[i] = LocalDateTime.ofEpochSecond(previous * 60, 0, ZoneOffset.UTC);
+                }
+            }
+            String[] names = readStrings(in, rows);
+            String[] descriptions = readStrings(in, rows);
+            for (int i = 0; i < rows; i++) {
+                action.accept(Event.builder()
+                        .id(ids[i])
+                        .name(names[i])
+                        .description(descriptions[i])
+                        .date(dates[i])
+                        .version(versions[i])
+                        .build());
+            }
+        }
+    }
+
+    private static String[] readStrings(InputStream in, int rows) throws IOException {
+        int[] lengths = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            lengths[i] = (int) readVarint(in);
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new String(readBytes(in, lengths[i]), StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static byte[] readBytes(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        return bytes;
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
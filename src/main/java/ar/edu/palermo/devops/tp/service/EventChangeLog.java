@@ -0,0 +1,119 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, in-memory log of the last committed {@link EventChange}s, numbered from 1.
+ * <p>
+ * Writers claim a sequence with a single atomic increment and store the change in its slot of a ring,
+ * overwriting the change one lap behind; they never wait for readers. Readers follow with their own cursor
+ * and find out they were lapped when the change they ask for is no longer in the ring.
+ * Sequences restart with the application.
+ */
+@Component
+@Profile("!reactive")
+public class EventChangeLog {
+
+    /**
+     * Result of {@link #read}.
+     *
+     * @param changes consecutive changes from the requested sequence, or from the oldest kept one
+     * @param next    sequence to read next
+     * @param missed  number of changes before {@code changes} that were overwritten before being read
+     */
+    public record Read(List<EventChange> changes, long next, long missed) {}
+
+    private final AtomicReferenceArray<EventChange> ring;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    private final Set<Thread> waiting = ConcurrentHashMap.newKeySet();
+
+    public EventChangeLog(EventsProperties properties) {
+        // A power of two so the slot is a mask of the sequence
+        int size = Math.max(2, Integer.highestOneBit(properties.changes().bufferSize() - 1) << 1);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // After the commit, so rolled back writes are never published; immediately when there is no transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void append(EventChange change) {
+        long sequence = nextSequence.getAndIncrement();
+        ring.set(slot(sequence), change.withSequence(sequence));
+        waiting.forEach(LockSupport::unpark);
+    }
+
+    // The imported events would flood the ring and lap every reader; one change tells them to reload instead
+    @TransactionalEventListener(fallbackExecution = true)
+    public void append(EventsImported imported) {
+        append(EventChange.imported());
+    }
+
+    /**
+     * Sequence the next appended change will get.
+     */
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    public int capacity() {
+        return ring.length();
+    }
+
+    public Read read(long from, int max) {
+        long oldest = Math.max(1, nextSequence.get() - ring.length());
+        long missed = Math.max(0, oldest - from);
+        long sequence = from + missed;
+        List<EventChange> changes = new ArrayList<>(Math.min(max, ring.length()));
+        while (changes.size() < max) {
+            EventChange change = ring.get(slot(sequence));
+            // Not written yet (claimed but still being stored), or already overwritten by a later lap:
+            // the next read reports the second case as missed
+            if (change == null || change.sequence() != sequence) {
+                break;
+            }
+            changes.add(change);
+            sequence++;
+        }
+        return new Read(changes, sequence, missed);
+    }
+
+    /**
+     * Parks the calling thread until the change at {@code sequence} is stored or the timeout elapses.
+     */
+    public void await(long sequence, long timeout, TimeUnit unit) {
+        Thread current = Thread.currentThread();
+        waiting.add(current);
+        try {
+            // Re-checked after registering, an append in between has already unparked us
+            if (!isStored(sequence)) {
+                LockSupport.parkNanos(this, unit.toNanos(timeout));
+            }
+        } finally {
+            waiting.remove(current);
+        }
+    }
+
+    private boolean isStored(long sequence) {
+        EventChange change = ring.get(slot(sequence));
+        return change != null && change.sequence() >= sequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
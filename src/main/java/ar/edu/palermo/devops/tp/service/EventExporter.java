@@ -0,0 +1,155 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes every event, ordered by id, bypassing JPA.
+ * <p>
+ * CSV is produced by Postgres itself with {@code COPY TO STDOUT}; NDJSON and the columnar format are written
+ * from a server-side cursor. Either way rows go to the output as they are read, so memory does not grow with
+ * the table. The export runs in a single read-only transaction and sees the events as they were when it started.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class EventExporter {
+    public enum Format {
+        NDJSON, CSV, COLUMNAR
+    }
+
+    // Dates to the minute, as in the JSON representation
+    private static final String COPY_SQL = "COPY (SELECT id, name, description, to_char(date, 'YYYY-MM-DD\"T\"HH24:MI') AS date, "
+            + "version FROM event ORDER BY id) TO STDOUT (FORMAT csv, HEADER)";
+
+    private static final String SELECT_SQL = "SELECT id, name, description, date, version FROM event ORDER BY id";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final int COLUMNAR_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Format, Counter> exportedRows = new EnumMap<>(Format.class);
+
+    public EventExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        for (Format format : Format.values()) {
+            exportedRows.put(format, Counter.builder("events.export.rows")
+                    .description("Rows written by exports, by format")
+                    .tag("format", format.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Writes the events to {@code out} and flushes it; closing it is left to the caller.
+     */
+    public void exportEvents(OutputStream out, Format format) {
+        long started = System.nanoTime();
+        long rows = transactionTemplate.execute(status -> {
+            try {
+                return switch (format) {
+                    case CSV -> copy(out);
+                    case NDJSON -> writeNdjson(out);
+                    case COLUMNAR -> writeColumnar(out);
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY", COPY_SQL, e);
+            }
+        });
+        double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+        log.info("Exported {} events as {}, {} rows/s", rows, format, (long) (seconds > 0 ? rows / seconds : 0));
+    }
+
+    private long copy(OutputStream out) throws IOException, SQLException {
+        Connection connection = DataSourceUtils.getConnection(jdbcTemplate.getDataSource());
+        long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_SQL, out);
+        out.flush();
+        exportedRows.get(Format.CSV).increment(rows);
+        return rows;
+    }
+
+    private long writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            // Each event ends its own line instead of being separated from the next by a space
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            return forEachEvent(Format.NDJSON, event -> {
+                generator.writeObject(event);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long writeColumnar(OutputStream out) throws IOException {
+        // The writer emits varints a byte at a time
+        ColumnarEvents.Writer writer = new ColumnarEvents.Writer(new BufferedOutputStream(out, COLUMNAR_BUFFER_SIZE));
+        long rows = forEachEvent(Format.COLUMNAR, writer::write);
+        writer.finish();
+        return rows;
+    }
+
+    // Postgres only opens a server-side cursor when a fetch size is set inside a transaction
+    private long forEachEvent(Format format, EventWriter action) {
+        Counter counter = exportedRows.get(format);
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            Timestamp date = resultSet.getTimestamp("date");
+            Event event = new Event(resultSet.getLong("id"), resultSet.getString("name"),
+                    resultSet.getString("description"), date == null ? null : date.toLocalDateTime(),
+                    resultSet.getLong("version"), null);
+            try {
+                action.write(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+            counter.increment();
+        });
+        return rows[0];
+    }
+
+    private interface EventWriter {
+        void write(Event event) throws IOException;
+    }
+}
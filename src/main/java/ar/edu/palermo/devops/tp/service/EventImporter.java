@@ -0,0 +1,280 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads events in bulk with {@code COPY FROM STDIN}, bypassing JPA.
+ * <p>
+ * The body is read, validated and copied row by row, so memory does not grow with its size. Rows that are not
+ * valid events are skipped and reported; the rest are imported in a single transaction, all or none.
+ * <p>
+ * Ids are taken from {@code event_seq} the way JPA's pooled optimizer takes them, a block of 50 per value,
+ * so they never collide with ids handed out by the application.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class EventImporter {
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String COPY_SQL = "COPY event (id, name, description, date) FROM STDIN (FORMAT csv)";
+
+    // allocationSize of event_seq
+    private static final int ID_BLOCK_SIZE = 50;
+
+    // Most blocks fetched at a time. Each fetch doubles the previous one from a single block, so a small import
+    // neither burns ids nor round trips; the COPY is ended, waited for and restarted whenever they run out
+    private static final int MAX_ID_BLOCKS = 1000;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final long PROGRESS_ROWS = 100_000;
+
+    private static final DateTimeFormatter COPY_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxRejections;
+
+    private final Counter importedRows;
+
+    private final Counter rejectedRows;
+
+    private volatile double rowsPerSecond;
+
+    public EventImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper, Validator validator, ApplicationEventPublisher eventPublisher,
+                         MeterRegistry meterRegistry, EventsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.maxRejections = properties.bulkImport().maxRejections();
+        // Counted as the rows are copied, so the rate shows the progress of a running import
+        this.importedRows = Counter.builder("events.import.rows")
+                .description("Rows read by imports, by outcome")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("events.import.rows")
+                .description("Rows read by imports, by outcome")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("events.import.rate", this, importer -> importer.rowsPerSecond)
+                .description("Rows per second of the running import, or of the last one")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    public ImportResultDto importEvents(InputStream body, Format format) {
+        return transactionTemplate.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(jdbcTemplate.getDataSource());
+            try {
+                IdBlocks ids = new IdBlocks();
+                ImportResultDto result = copy(connection, rows(body, format), ids);
+                if (result.imported() > 0) {
+                    // Inside the transaction, so the outbox rows for the imported events commit with them
+                    eventPublisher.publishEvent(new EventsImported(result.imported(), ids.used()));
+                }
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY", COPY_SQL, e);
+            }
+        });
+    }
+
+    private ImportRows rows(InputStream body, Format format) throws IOException {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        return format == Format.CSV ? ImportRows.csv(reader) : ImportRows.ndjson(reader, objectMapper);
+    }
+
+    private ImportResultDto copy(Connection connection, ImportRows rows, IdBlocks ids) throws IOException, SQLException {
+        long started = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        List<ImportResultDto.Rejection> rejections = new ArrayList<>();
+        StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+        CopyIn copyIn = null;
+        try {
+            for (ImportRows.Row row = rows.next(); row != null; row = rows.next()) {
+                Map<String, String> errors = row.event() == null ? row.errors() : validate(row.event());
+                if (!errors.isEmpty()) {
+                    rejected++;
+                    rejectedRows.increment();
+                    if (rejections.size() < maxRejections) {
+                        rejections.add(new ImportResultDto.Rejection(row.line(), errors));
+                    }
+                    continue;
+                }
+                if (!ids.hasNext()) {
+                    // No other statement can run on the connection while it is copying
+                    copyIn = endCopy(copyIn, buffer);
+                    ids.reserve(jdbcTemplate);
+                    copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                }
+                appendCsv(buffer, ids.next(), row.event());
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    flush(copyIn, buffer);
+                }
+                imported++;
+                importedRows.increment();
+                if (imported % PROGRESS_ROWS == 0) {
+                    rowsPerSecond = rate(imported + rejected, started);
+                    log.info("Imported {} events, {} rows rejected, {} rows/s", imported, rejected, (long) rowsPerSecond);
+                }
+            }
+            endCopy(copyIn, buffer);
+            copyIn = null;
+        } finally {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        rowsPerSecond = rate(imported + rejected, started);
+        log.info("Import read {} rows: {} imported, {} rejected, {} rows/s", imported + rejected, imported, rejected,
+                (long) rowsPerSecond);
+        return new ImportResultDto(imported, rejected, rejections, rejected > rejections.size());
+    }
+
+    private Map<String, String> validate(EventDto event) {
+        Map<String, String> errors = new HashMap<>();
+        validator.validate(event)
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private static CopyIn endCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (copyIn != null) {
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        }
+        return null;
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // CSV as COPY reads it: an unquoted empty field is NULL
+    private static void appendCsv(StringBuilder buffer, long id, EventDto event) {
+        buffer.append(id).append(',');
+        appendQuoted(buffer, event.name());
+        buffer.append(',');
+        appendQuoted(buffer, event.description());
+        buffer.append(',');
+        if (event.date() != null) {
+            buffer.append(COPY_DATE_FORMAT.format(event.date()));
+        }
+        buffer.append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    // Value v of the sequence reserves the ids v - 49 to v. The ids handed out are kept as ranges, a block that
+    // follows the previous one extending its range
+    private static final class IdBlocks {
+
+        private final List<EventsImported.IdRange> used = new ArrayList<>();
+
+        private long usedFirst = -1;
+
+        private List<Long> values = List.of();
+
+        private int blocks = 1;
+
+        private int block;
+
+        private long next;
+
+        private long last = -1;
+
+        void reserve(JdbcTemplate jdbcTemplate) {
+            values = jdbcTemplate.queryForList("SELECT nextval('event_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            blocks = Math.min(blocks * 2, MAX_ID_BLOCKS);
+            block = 0;
+            last = -1;
+        }
+
+        boolean hasNext() {
+            return next <= last || block < values.size();
+        }
+
+        long next() {
+            if (next > last) {
+                last = values.get(block++);
+                long first = Math.max(1, last - ID_BLOCK_SIZE + 1);
+                if (first != next) {
+                    closeRange();
+                    usedFirst = first;
+                }
+                next = first;
+            }
+            return next++;
+        }
+
+        List<EventsImported.IdRange> used() {
+            closeRange();
+            usedFirst = next;
+            return List.copyOf(used);
+        }
+
+        private void closeRange() {
+            if (usedFirst >= 0 && next > usedFirst) {
+                used.add(new EventsImported.IdRange(usedFirst, next - 1));
+            }
+        }
+    }
+
+    private static double rate(long rows, long started) {
+        double seconds = (System.nanoTime() - started) / 1_000_000_000d;
+        return seconds > 0 ? rows / seconds : 0;
+    }
+}
@@ -1,46 +1,308 @@
 package ar.edu.palermo.devops.tp.service;
 
+import ar.edu.palermo.devops.tp.configuration.CacheConfig;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
 import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventVersionDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
 import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.exception.EventVersionMismatchException;
+import ar.edu.palermo.devops.tp.jdbc.ReadWriteRoutingDataSource;
+import ar.edu.palermo.devops.tp.mapper.EventMapper;
 import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.EventChange;
 import ar.edu.palermo.devops.tp.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.modelmapper.ModelMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
+@Timed("events.service")
+@Profile("!reactive")
 public class EventService implements EventServiceInterface {
+    private static final String ID_REQUIRED_ERROR_MSG = "Id is required";
+    private static final String EVENT_REQUIRED_ERROR_MSG = "Event cannot be null";
 
     private final EventRepository eventRepository;
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    // Changes go to the outbox within the write's transaction, and to the EventChangeLog once it commits,
+    // so every method that publishes one is transactional
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final UpcomingEvents upcomingEvents;
+
+    private final EventImporter eventImporter;
 
+    private final EventExporter eventExporter;
+
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EVENTS_CACHE, key = "#result.id")
     public Event save(EventDto eventToSave) {
-        Event event = modelMapper.map(eventToSave, Event.class);
-        return eventRepository.save(event);
+        Event event = eventRepository.save(eventMapper.toEvent(eventToSave));
+        eventPublisher.publishEvent(EventChange.created(event));
+        return event;
     }
 
+    @Transactional(readOnly = true)
     public List<Event> findAll() {
         return eventRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Window<Event> findPage(Long after, int size) {
+        final long cursor = after == null ? 0L : after;
+        // One extra row tells us whether there is a next page without a count query
+        List<Event> events = eventRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(size + 1));
+        boolean hasNext = events.size() > size;
+        List<Event> content = hasNext ? events.subList(0, size) : events;
+        return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).getId())), hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<EventVersionDto> findPageVersions(Long after, int size) {
+        final long cursor = after == null ? 0L : after;
+        List<EventVersionDto> versions = eventRepository.findVersionsByIdGreaterThanOrderByIdAsc(cursor, Limit.of(size + 1));
+        boolean hasNext = versions.size() > size;
+        List<EventVersionDto> content = hasNext ? versions.subList(0, size) : versions;
+        return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).id())), hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<EventSummaryDto> findPageSummaries(Long after, int size) {
+        final long cursor = after == null ? 0L : after;
+        List<EventSummaryDto> summaries = eventRepository.findSummariesByIdGreaterThanOrderByIdAsc(cursor, Limit.of(size + 1));
+        boolean hasNext = summaries.size() > size;
+        List<EventSummaryDto> content = hasNext ? summaries.subList(0, size) : summaries;
+        return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).id())), hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Event> action) {
+        try (Stream<Event> events = eventRepository.streamAllByOrderByIdAsc()) {
+            events.forEach(event -> {
+                action.accept(event);
+                // Keeps the persistence context from growing with the result set
+                entityManager.detach(event);
+            });
+        }
+    }
+
+    // Served from memory, see UpcomingEvents
+    public Window<Event> findUpcoming(LocalDateTime afterDate, Long afterId, int size) {
+        return upcomingEvents.page(afterDate, afterId, size);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<Event> search(EventSearchCriteria criteria, Sort sort, int page, int size) {
+        final long offset = (long) page * size;
+        List<Event> events = eventRepository.search(criteria, sort, size + 1, offset);
+        boolean hasNext = events.size() > size;
+        List<Event> content = hasNext ? events.subList(0, size) : events;
+        return Window.from(content, i -> ScrollPosition.offset(offset + i), hasNext);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EVENTS_CACHE, key = "#id", sync = true)
     public Event findById(Long id) {
-        return eventRepository.findById(id)
+        // What is loaded here stays cached, so it never comes from a replica that may be behind
+        try (ReadWriteRoutingDataSource.Pin pin = ReadWriteRoutingDataSource.pinToPrimary()) {
+            return eventRepository.findById(id)
+                    .orElseThrow(() -> new EventNotFoundException(id));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public EventVersionDto findVersion(Long id) {
+        return eventRepository.findVersionById(id)
                 .orElseThrow(() -> new EventNotFoundException(id));
     }
 
-    public Event update(Long id, EventDto event) {
-        Event eventToUpdate = eventRepository.findById(id)
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EVENTS_CACHE, key = "#id")
+    public Event update(Long id, EventDto event, Long expectedVersion) {
+        Event updated = eventRepository.updateAndReturn(id, event.name(), event.description(), event.date(), expectedVersion)
+                .orElseThrow(() -> expectedVersion != null && eventRepository.existsById(id)
+                        ? new EventVersionMismatchException(id)
+                        : new EventNotFoundException(id));
+        eventPublisher.publishEvent(EventChange.updated(updated));
+        return updated;
+    }
+
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EVENTS_CACHE, key = "#id")
+    public Event patch(Long id, EventDto changes, Set<String> fields, Long expectedVersion) {
+        Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException(id));
-        modelMapper.map(event, eventToUpdate);
-        return eventRepository.save(eventToUpdate);
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new EventVersionMismatchException(id);
+        }
+        if (fields.contains("name")) {
+            event.setName(changes.name());
+        }
+        if (fields.contains("description")) {
+            event.setDescription(changes.description());
+        }
+        if (fields.contains("date")) {
+            event.setDate(changes.date());
+        }
+        // Event is @DynamicUpdate, so the flush only writes the columns that changed, guarded by the version
+        // that was read. Flushed here so the published change carries the new version
+        entityManager.flush();
+        eventPublisher.publishEvent(EventChange.updated(event));
+        return event;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EVENTS_CACHE, key = "#id")
     public void delete(Long id) {
-        Event eventToDelete = eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException(id));
-        eventRepository.delete(eventToDelete);
+        if (eventRepository.deleteAndCount(id) == 0) {
+            throw new EventNotFoundException(id);
+        }
+        eventPublisher.publishEvent(EventChange.deleted(id));
+    }
+
+    @Transactional
+    public BatchResultDto saveAll(List<EventDto> eventsToSave) {
+        BatchResultDto.Item[] items = new BatchResultDto.Item[eventsToSave.size()];
+        Map<Integer, Event> valid = new LinkedHashMap<>();
+        for (int i = 0; i < eventsToSave.size(); i++) {
+            Map<String, String> errors = validate(eventsToSave.get(i));
+            if (errors.isEmpty()) {
+                valid.put(i, eventMapper.toEvent(eventsToSave.get(i)));
+            } else {
+                items[i] = BatchResultDto.Item.failed(i, null, BatchResultDto.Status.INVALID, errors);
+            }
+        }
+
+        // Ids come from the pooled sequence on persist; the inserts themselves are batched at flush
+        eventRepository.saveAll(valid.values());
+        valid.forEach((i, event) -> {
+            items[i] = BatchResultDto.Item.succeeded(i, event.getId(), BatchResultDto.Status.CREATED);
+            eventPublisher.publishEvent(EventChange.created(event));
+        });
+        return BatchResultDto.of(List.of(items));
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EVENTS_CACHE, allEntries = true)
+    public BatchResultDto updateAll(List<EventDto> eventsToUpdate) {
+        Map<Long, Event> existing = findExisting(eventsToUpdate.stream()
+                .filter(Objects::nonNull)
+                .map(EventDto::id)
+                .toList());
+
+        List<BatchResultDto.Item> items = new ArrayList<>(eventsToUpdate.size());
+        Set<Event> updated = new LinkedHashSet<>();
+        for (EventDto eventToUpdate : eventsToUpdate) {
+            final int index = items.size();
+            Map<String, String> errors = validate(eventToUpdate);
+            Long id = eventToUpdate == null ? null : eventToUpdate.id();
+            if (eventToUpdate != null && id == null) {
+                errors.put("id", ID_REQUIRED_ERROR_MSG);
+            }
+
+            if (!errors.isEmpty()) {
+                items.add(BatchResultDto.Item.failed(index, id, BatchResultDto.Status.INVALID, errors));
+            } else if (!existing.containsKey(id)) {
+                items.add(notFound(index, id));
+            } else {
+                eventMapper.updateEvent(eventToUpdate, existing.get(id));
+                updated.add(existing.get(id));
+                items.add(BatchResultDto.Item.succeeded(index, id, BatchResultDto.Status.UPDATED));
+            }
+        }
+        // Dirty checking flushes the modified entities as batched updates, before publishing their new versions
+        entityManager.flush();
+        updated.forEach(event -> eventPublisher.publishEvent(EventChange.updated(event)));
+        return BatchResultDto.of(items);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EVENTS_CACHE, allEntries = true)
+    public BatchResultDto deleteAll(List<Long> ids) {
+        Map<Long, Event> existing = findExisting(ids);
+
+        List<BatchResultDto.Item> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            final int index = items.size();
+            if (id == null) {
+                items.add(BatchResultDto.Item.failed(index, null, BatchResultDto.Status.INVALID,
+                        Map.of("id", ID_REQUIRED_ERROR_MSG)));
+            } else if (!existing.containsKey(id)) {
+                items.add(notFound(index, id));
+            } else {
+                items.add(BatchResultDto.Item.succeeded(index, id, BatchResultDto.Status.DELETED));
+            }
+        }
+        eventRepository.deleteAll(existing.values());
+        existing.keySet().forEach(id -> eventPublisher.publishEvent(EventChange.deleted(id)));
+        return BatchResultDto.of(items);
+    }
+
+    // New ids only, nothing cached can be stale
+    public ImportResultDto importEvents(InputStream body, EventImporter.Format format) {
+        return eventImporter.importEvents(body, format);
+    }
+
+    public void exportEvents(OutputStream out, EventExporter.Format format) {
+        eventExporter.exportEvents(out, format);
+    }
+
+    private Map<Long, Event> findExisting(List<Long> ids) {
+        return eventRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+    }
+
+    private Map<String, String> validate(EventDto event) {
+        Map<String, String> errors = new HashMap<>();
+        if (event == null) {
+            errors.put("event", EVENT_REQUIRED_ERROR_MSG);
+            return errors;
+        }
+        validator.validate(event)
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private static BatchResultDto.Item notFound(int index, Long id) {
+        return BatchResultDto.Item.failed(index, id, BatchResultDto.Status.NOT_FOUND,
+                Map.of("id", new EventNotFoundException(id).getMessage()));
     }
 }
@@ -1,20 +1,58 @@
 package ar.edu.palermo.devops.tp.service;
 
 
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
 import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventVersionDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
 import ar.edu.palermo.devops.tp.model.Event;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EventServiceInterface {
     Event findById(Long id);
 
+    EventVersionDto findVersion(Long id);
+
     List<Event> findAll();
 
+    Window<Event> findPage(Long after, int size);
+
+    Window<EventVersionDto> findPageVersions(Long after, int size);
+
+    Window<EventSummaryDto> findPageSummaries(Long after, int size);
+
+    void streamAll(Consumer<Event> action);
+
+    Window<Event> findUpcoming(LocalDateTime afterDate, Long afterId, int size);
+
+    Window<Event> search(EventSearchCriteria criteria, Sort sort, int page, int size);
+
     Event save(EventDto event);
 
-    Event update(Long id, @Valid EventDto event);
+    Event update(Long id, @Valid EventDto event, Long expectedVersion);
+
+    Event patch(Long id, EventDto changes, Set<String> fields, Long expectedVersion);
 
     void delete(Long id);
+
+    BatchResultDto saveAll(List<EventDto> events);
+
+    BatchResultDto updateAll(List<EventDto> events);
+
+    BatchResultDto deleteAll(List<Long> ids);
+
+    ImportResultDto importEvents(InputStream body, EventImporter.Format format);
+
+    void exportEvents(OutputStream out, EventExporter.Format format);
 }
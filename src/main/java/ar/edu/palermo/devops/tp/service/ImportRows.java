@@ -0,0 +1,215 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of an import body, read one at a time. Lines and fields longer than any valid event are cut while reading,
+ * so memory stays bounded whatever the body holds.
+ */
+abstract class ImportRows {
+    // Far above the longest valid row, a row this long is rejected anyway
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private static final String LINE_TOO_LONG_ERROR_MSG = "Row is longer than " + MAX_LINE_LENGTH + " characters";
+    private static final String DATE_FORMAT_ERROR_MSG = "Date must be an ISO-8601 date and time, e.g. 2030-12-31T20:00";
+    private static final String CSV_HEADER_ERROR_MSG = "CSV must start with a header naming the columns name, description and date";
+
+    /**
+     * A row as read: the event, or the errors that kept it from being read.
+     */
+    record Row(long line, EventDto event, Map<String, String> errors) {}
+
+    protected final Reader reader;
+
+    protected long line = 1;
+
+    private int pushedBack = -1;
+
+    ImportRows(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the next row, null at the end of the body
+     */
+    abstract Row next() throws IOException;
+
+    static ImportRows ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    static ImportRows csv(Reader reader) throws IOException {
+        return new Csv(reader);
+    }
+
+    protected int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    protected void pushBack(int c) {
+        pushedBack = c;
+    }
+
+    private static final class Ndjson extends ImportRows {
+
+        private final ObjectMapper objectMapper;
+
+        private final StringBuilder text = new StringBuilder();
+
+        private Ndjson(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                boolean tooLong = false;
+                text.setLength(0);
+                int c = read();
+                if (c == -1) {
+                    return null;
+                }
+                for (; c != -1 && c != '\n'; c = read()) {
+                    if (text.length() < MAX_LINE_LENGTH) {
+                        text.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                line++;
+                if (tooLong) {
+                    return new Row(start, null, Map.of("line", LINE_TOO_LONG_ERROR_MSG));
+                }
+                if (text.toString().isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(start, objectMapper.readValue(text.toString(), EventDto.class), Map.of());
+                } catch (JsonProcessingException e) {
+                    return new Row(start, null, Map.of("line", e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    // RFC 4180: quoted fields may hold commas, line breaks and doubled quotes
+    private static final class Csv extends ImportRows {
+
+        private final int name;
+
+        private final int description;
+
+        private final int date;
+
+        private Csv(Reader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord(new HashMap<>());
+            List<String> columns = header == null ? List.of() : header.stream().map(column -> column.trim().toLowerCase()).toList();
+            this.name = columns.indexOf("name");
+            this.description = columns.indexOf("description");
+            this.date = columns.indexOf("date");
+            if (name < 0 || description < 0 || date < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, CSV_HEADER_ERROR_MSG);
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                long start = line;
+                Map<String, String> errors = new HashMap<>();
+                List<String> fields = readRecord(errors);
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.getFirst().isEmpty()) {
+                    continue;
+                }
+                if (!errors.isEmpty()) {
+                    return new Row(start, null, errors);
+                }
+                LocalDateTime eventDate = null;
+                String dateValue = field(fields, date);
+                if (dateValue != null && !dateValue.isBlank()) {
+                    try {
+                        eventDate = LocalDateTime.parse(dateValue.trim());
+                    } catch (DateTimeParseException e) {
+                        return new Row(start, null, Map.of("date", DATE_FORMAT_ERROR_MSG));
+                    }
+                }
+                return new Row(start, new EventDto(null, field(fields, name), field(fields, description), eventDate), Map.of());
+            }
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+
+        private List<String> readRecord(Map<String, String> errors) throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int length = 0;
+            boolean quoted = false;
+            for (; c != -1; c = read()) {
+                if (c == '\n') {
+                    line++;
+                }
+                boolean separator = false;
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            pushBack(next);
+                            continue;
+                        }
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    continue;
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    continue;
+                } else {
+                    separator = c == ',';
+                }
+                // Past the limit the rest of the record is only read through, to find where it ends
+                if (++length > MAX_LINE_LENGTH) {
+                    errors.put("line", LINE_TOO_LONG_ERROR_MSG);
+                } else if (separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.cache.ReactiveCacheInvalidationPublisher;
+import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.repository.ReactiveEventRepository;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Profile("reactive")
+public class ReactiveEventService implements ReactiveEventServiceInterface {
+    private static final String ID_REQUIRED_ERROR_MSG = "Id is required";
+    private static final String EVENT_REQUIRED_ERROR_MSG = "Event cannot be null";
+
+    private final ReactiveEventRepository eventRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Validator validator;
+
+    // Null when the cache bus is disabled
+    private final ReactiveCacheInvalidationPublisher cacheInvalidation;
+
+    public ReactiveEventService(ReactiveEventRepository eventRepository, ReactiveTransactionManager transactionManager,
+                                Validator validator, @Nullable ReactiveCacheInvalidationPublisher cacheInvalidation) {
+        this.eventRepository = eventRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.validator = validator;
+        this.cacheInvalidation = cacheInvalidation;
+    }
+
+    public Mono<Event> findById(Long id) {
+        return eventRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EventNotFoundException(id)));
+    }
+
+    public Mono<Window<Event>> findPage(Long after, int size) {
+        final long cursor = after == null ? 0L : after;
+        // One extra row tells us whether there is a next page without a count query
+        return eventRepository.findByIdGreaterThanOrderByIdAsc(cursor, size + 1)
+                .collectList()
+                .map(events -> {
+                    boolean hasNext = events.size() > size;
+                    List<Event> content = hasNext ? events.subList(0, size) : events;
+                    return Window.from(content, i -> ScrollPosition.forward(Map.of("id", content.get(i).getId())), hasNext);
+                });
+    }
+
+    public Flux<Event> streamAll() {
+        return eventRepository.streamAllByOrderByIdAsc();
+    }
+
+    public Mono<Window<Event>> search(EventSearchCriteria criteria, Sort sort, int page, int size) {
+        final long offset = (long) page * size;
+        return eventRepository.search(criteria, sort, size + 1, offset)
+                .collectList()
+                .map(events -> {
+                    boolean hasNext = events.size() > size;
+                    List<Event> content = hasNext ? events.subList(0, size) : events;
+                    return Window.from(content, i -> ScrollPosition.offset(offset + i), hasNext);
+                });
+    }
+
+    public Mono<Event> save(EventDto event) {
+        return notifying(insert(event));
+    }
+
+    public Mono<Event> update(Long id, EventDto event) {
+        return notifying(eventRepository.updateAndReturn(id, event.name(), event.description(), event.date())
+                .switchIfEmpty(Mono.error(() -> new EventNotFoundException(id))));
+    }
+
+    public Mono<Event> patch(Long id, EventDto changes, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return findById(id);
+        }
+        return notifying(eventRepository.patchAndReturn(id, changes, fields)
+                .switchIfEmpty(Mono.error(() -> new EventNotFoundException(id))));
+    }
+
+    public Mono<Void> delete(Long id) {
+        Mono<Void> delete = eventRepository.deleteAndCount(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(new EventNotFoundException(id)) : publish(List.of(id)));
+        return cacheInvalidation == null ? delete : delete.as(transactionalOperator::transactional);
+    }
+
+    // Items are written one after the other on the same connection, inside a single transaction
+    public Mono<BatchResultDto> saveAll(List<EventDto> eventsToSave) {
+        return Flux.range(0, eventsToSave.size())
+                .concatMap(i -> {
+                    Map<String, String> errors = validate(eventsToSave.get(i));
+                    if (!errors.isEmpty()) {
+                        return Mono.just(BatchResultDto.Item.failed(i, null, BatchResultDto.Status.INVALID, errors));
+                    }
+                    return insert(eventsToSave.get(i))
+                            .map(event -> BatchResultDto.Item.succeeded(i, event.getId(), BatchResultDto.Status.CREATED));
+                })
+                .collectList()
+                .flatMap(items -> publishSucceeded(items).thenReturn(BatchResultDto.of(items)))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<BatchResultDto> updateAll(List<EventDto> eventsToUpdate) {
+        return Flux.range(0, eventsToUpdate.size())
+                .concatMap(i -> {
+                    EventDto eventToUpdate = eventsToUpdate.get(i);
+                    Map<String, String> errors = validate(eventToUpdate);
+                    Long id = eventToUpdate == null ? null : eventToUpdate.id();
+                    if (eventToUpdate != null && id == null) {
+                        errors.put("id", ID_REQUIRED_ERROR_MSG);
+                    }
+                    if (!errors.isEmpty()) {
+                        return Mono.just(BatchResultDto.Item.failed(i, id, BatchResultDto.Status.INVALID, errors));
+                    }
+                    return eventRepository.updateAndReturn(id, eventToUpdate.name(), eventToUpdate.description(), eventToUpdate.date())
+                            .map(event -> BatchResultDto.Item.succeeded(i, id, BatchResultDto.Status.UPDATED))
+                            .defaultIfEmpty(notFound(i, id));
+                })
+                .collectList()
+                .flatMap(items -> publishSucceeded(items).thenReturn(BatchResultDto.of(items)))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<BatchResultDto> deleteAll(List<Long> ids) {
+        return Flux.range(0, ids.size())
+                .concatMap(i -> {
+                    Long id = ids.get(i);
+                    if (id == null) {
+                        return Mono.just(BatchResultDto.Item.failed(i, null, BatchResultDto.Status.INVALID,
+                                Map.of("id", ID_REQUIRED_ERROR_MSG)));
+                    }
+                    return eventRepository.deleteAndCount(id)
+                            .map(deleted -> deleted == 0
+                                    ? notFound(i, id)
+                                    : BatchResultDto.Item.succeeded(i, id, BatchResultDto.Status.DELETED));
+                })
+                .collectList()
+                .flatMap(items -> publishSucceeded(items).thenReturn(BatchResultDto.of(items)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Event> insert(EventDto event) {
+        return eventRepository.insert(event.name(), event.description(), event.date());
+    }
+
+    // A single write runs in autocommit, unless its NOTIFY has to be sent from the same transaction
+    private Mono<Event> notifying(Mono<Event> write) {
+        if (cacheInvalidation == null) {
+            return write;
+        }
+        return write.flatMap(event -> publish(List.of(event.getId())).thenReturn(event))
+                .as(transactionalOperator::transactional);
+    }
+
+    // One NOTIFY for a whole batch, with the ids it wrote
+    private Mono<Void> publishSucceeded(List<BatchResultDto.Item> items) {
+        return publish(items.stream().filter(BatchResultDto.Item::succeeded).map(BatchResultDto.Item::id).toList());
+    }
+
+    private Mono<Void> publish(Collection<Long> ids) {
+        return cacheInvalidation == null || ids.isEmpty() ? Mono.empty() : cacheInvalidation.publish(ids);
+    }
+
+    private Map<String, String> validate(EventDto event) {
+        Map<String, String> errors = new HashMap<>();
+        if (event == null) {
+            errors.put("event", EVENT_REQUIRED_ERROR_MSG);
+            return errors;
+        }
+        validator.validate(event)
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private static BatchResultDto.Item notFound(int index, Long id) {
+        return BatchResultDto.Item.failed(index, id, BatchResultDto.Status.NOT_FOUND,
+                Map.of("id", new EventNotFoundException(id).getMessage()));
+    }
+}
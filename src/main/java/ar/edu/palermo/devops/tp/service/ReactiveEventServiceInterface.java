@@ -0,0 +1,37 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ReactiveEventServiceInterface {
+    Mono<Event> findById(Long id);
+
+    Mono<Window<Event>> findPage(Long after, int size);
+
+    Flux<Event> streamAll();
+
+    Mono<Window<Event>> search(EventSearchCriteria criteria, Sort sort, int page, int size);
+
+    Mono<Event> save(EventDto event);
+
+    Mono<Event> update(Long id, EventDto event);
+
+    Mono<Event> patch(Long id, EventDto changes, Set<String> fields);
+
+    Mono<Void> delete(Long id);
+
+    Mono<BatchResultDto> saveAll(List<EventDto> events);
+
+    Mono<BatchResultDto> updateAll(List<EventDto> events);
+
+    Mono<BatchResultDto> deleteAll(List<Long> ids);
+}
@@ -0,0 +1,209 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import ar.edu.palermo.devops.tp.repository.EventRepository;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory read model of the events that have not started yet, ordered by date and id.
+ * <p>
+ * Loaded from the database when the application starts and then kept up to date from the committed
+ * {@link EventChange}s, so reading it never touches the database. Events whose date has passed are skipped
+ * by readers right away and removed by a scheduled sweep.
+ */
+@Component
+@Profile("!reactive")
+public class UpcomingEvents implements InitializingBean, SchedulingConfigurer {
+    // Longer than any delay between two commits on an event and their changes being applied here
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(1);
+
+    record Key(LocalDateTime date, long id) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::date).thenComparingLong(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Latest change applied to an event. Without a key the event is not upcoming (deleted, moved to the past or
+     * expired) and the entry is a tombstone, kept for a while so that an older change applied late is ignored.
+     */
+    private record Entry(Key key, long version, Instant since) {
+        boolean isNewerThan(long otherVersion) {
+            return version >= otherVersion;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Key, Event> byDate = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final EventRepository eventRepository;
+
+    private final Duration evictionInterval;
+
+    private final Clock clock;
+
+    @Autowired
+    public UpcomingEvents(EventRepository eventRepository, EventsProperties properties) {
+        this(eventRepository, properties, Clock.systemDefaultZone());
+    }
+
+    UpcomingEvents(EventRepository eventRepository, EventsProperties properties, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.evictionInterval = properties.upcoming().evictionInterval();
+        this.clock = clock;
+    }
+
+    // Runs before the web server starts, so no request reads a partial view
+    @Override
+    public void afterPropertiesSet() {
+        eventRepository.findUpcoming(LocalDateTime.now(clock))
+                .forEach(event -> apply(event.getId(), event.getVersion(), event));
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::evictExpired, evictionInterval);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(EventChange change) {
+        if (change.type() == EventChange.Type.DELETED) {
+            // Nothing comes after a deletion
+            apply(change.eventId(), Long.MAX_VALUE, null);
+            return;
+        }
+        Event event = Event.builder()
+                .id(change.eventId())
+                .name(change.event().name())
+                .description(change.event().description())
+                .date(change.event().date())
+                .version(change.version())
+                .build();
+        apply(change.eventId(), change.version(), event);
+    }
+
+    // Imported events come without a change each
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(EventsImported imported) {
+        rebuild();
+    }
+
+    /**
+     * Re-reads events changed on another node. Those no longer found were deleted.
+     */
+    public void refresh(Collection<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (Event event : eventRepository.findAllDetachedById(ids)) {
+            missing.remove(event.getId());
+            apply(event.getId(), event.getVersion(), event);
+        }
+        missing.forEach(id -> apply(id, Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Reloads the whole view, when changes made on other nodes may have been missed. Events that are no longer
+     * upcoming are dropped, unless a change applied during the reload put them here.
+     */
+    public void rebuild() {
+        Instant started = clock.instant();
+        Set<Long> loaded = new HashSet<>();
+        for (Event event : eventRepository.findUpcoming(LocalDateTime.now(clock))) {
+            loaded.add(event.getId());
+            apply(event.getId(), event.getVersion(), event);
+        }
+        entries.keySet().stream().filter(id -> !loaded.contains(id)).forEach(id ->
+                entries.computeIfPresent(id, (key, entry) -> {
+                    if (entry.key() == null || entry.since().isAfter(started)) {
+                        return entry;
+                    }
+                    byDate.remove(entry.key());
+                    return new Entry(null, entry.version(), clock.instant());
+                }));
+    }
+
+    /**
+     * Events after the given position (or from now) in date and id order.
+     */
+    public Window<Event> page(LocalDateTime afterDate, Long afterId, int size) {
+        Key now = new Key(LocalDateTime.now(clock), Long.MAX_VALUE);
+        Key after = afterDate == null || afterId == null ? now : new Key(afterDate, afterId);
+        ConcurrentNavigableMap<Key, Event> tail = byDate.tailMap(after.compareTo(now) > 0 ? after : now, false);
+        List<Event> events = new ArrayList<>(size + 1);
+        for (Event event : tail.values()) {
+            if (events.size() > size) {
+                break;
+            }
+            events.add(event);
+        }
+        boolean hasNext = events.size() > size;
+        List<Event> content = hasNext ? events.subList(0, size) : events;
+        return Window.from(content, i -> ScrollPosition.forward(
+                Map.of("date", content.get(i).getDate(), "id", content.get(i).getId())), hasNext);
+    }
+
+    public int size() {
+        return byDate.size();
+    }
+
+    void evictExpired() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        ConcurrentNavigableMap<Key, Event> expired = byDate.headMap(new Key(now, Long.MAX_VALUE), true);
+        expired.keySet().forEach(key -> entries.computeIfPresent(key.id(), (id, entry) -> {
+            if (key.equals(entry.key())) {
+                byDate.remove(key);
+                return new Entry(null, entry.version(), clock.instant());
+            }
+            return entry;
+        }));
+        Instant cutoff = clock.instant().minus(TOMBSTONE_TTL);
+        entries.values().removeIf(entry -> entry.key() == null && entry.since().isBefore(cutoff));
+    }
+
+    // Per event, under the map's lock: the latest version wins whatever the order changes are applied in
+    private void apply(Long id, long version, Event event) {
+        entries.compute(id, (key, current) -> {
+            if (current != null && current.isNewerThan(version)) {
+                return current;
+            }
+            if (current != null && current.key() != null) {
+                byDate.remove(current.key());
+            }
+            if (event == null || event.getDate() == null || !event.getDate().isAfter(LocalDateTime.now(clock))) {
+                return new Entry(null, version, clock.instant());
+            }
+            Key position = new Key(event.getDate(), id);
+            byDate.put(position, event);
+            return new Entry(position, version, clock.instant());
+        });
+    }
+}
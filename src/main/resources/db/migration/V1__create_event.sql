@@ -0,0 +1,9 @@
+-- Schema previously generated by Hibernate (ddl-auto) for Event
+CREATE SEQUENCE IF NOT EXISTS event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS event (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    name        VARCHAR(50)  NOT NULL,
+    description VARCHAR(200) NOT NULL,
+    date        TIMESTAMP(6)
+);
@@ -0,0 +1,11 @@
+-- Indexes behind GET /api/v1/events/search (see EventSearchQuery)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Date ranges and ordering by date
+CREATE INDEX IF NOT EXISTS event_date_idx ON event (date);
+
+-- Case-insensitive name prefix (name ILIKE 'abc%')
+CREATE INDEX IF NOT EXISTS event_name_trgm_idx ON event USING gin (name gin_trgm_ops);
+
+-- Full-text search on the description
+CREATE INDEX IF NOT EXISTS event_description_fts_idx ON event USING gin (to_tsvector('simple', description));
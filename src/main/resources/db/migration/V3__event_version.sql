@@ -0,0 +1,4 @@
+-- Optimistic locking and conditional requests (ETag / Last-Modified) on Event
+ALTER TABLE event
+    ADD COLUMN version    BIGINT                      NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
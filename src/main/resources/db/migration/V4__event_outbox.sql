@@ -0,0 +1,12 @@
+-- Transactional outbox: every event change is also written here by the transaction that made it,
+-- and removed once OutboxDispatcher has handed it to the sink
+CREATE SEQUENCE IF NOT EXISTS event_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE event_outbox (
+    id         BIGINT                      NOT NULL PRIMARY KEY,
+    type       VARCHAR(16)                 NOT NULL,
+    event_id   BIGINT                      NOT NULL,
+    version    BIGINT,
+    payload    JSONB,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
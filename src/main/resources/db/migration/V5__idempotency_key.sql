@@ -0,0 +1,12 @@
+-- Idempotency keys of the write requests when they are shared between nodes (events.idempotency.store=jdbc).
+-- A row without status is an execution in progress; expired rows are taken over by a new claim or deleted
+CREATE TABLE idempotency_key (
+    key         TEXT                        NOT NULL PRIMARY KEY,
+    fingerprint VARCHAR(64)                 NOT NULL,
+    status      SMALLINT,
+    headers     JSONB,
+    body        BYTEA,
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idempotency_key_expires_at_idx ON idempotency_key (expires_at);
@@ -0,0 +1,180 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.http.ProtobufEventHttpMessageConverter;
+import ar.edu.palermo.devops.tp.model.Event;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A list response written by each of the message converters the API negotiates (BinaryFormatsConfig), with and
+ * without gzip at the level Tomcat compresses with. The body goes to an output that only counts the bytes; the
+ * size of each combination is reported as the {@code bytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventEncodingBenchmark {
+
+    private static final Type EVENT_LIST = new ParameterizedTypeReference<List<Event>>() {}.getType();
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON, () -> new MappingJackson2HttpMessageConverter(builder().build())),
+        CBOR(MediaType.APPLICATION_CBOR, () -> new MappingJackson2CborHttpMessageConverter(
+                builder().factory(new CBORFactory()).build())),
+        SMILE(new MediaType("application", "x-jackson-smile"), () -> new MappingJackson2SmileHttpMessageConverter(
+                builder().factory(new SmileFactory()).build())),
+        PROTOBUF(ProtobufEventHttpMessageConverter.PROTOBUF, () -> new ProtobufEventHttpMessageConverter(
+                builder().factory(new ProtobufFactory()).build()));
+
+        private final MediaType mediaType;
+        private final Supplier<GenericHttpMessageConverter<Object>> converter;
+
+        Format(MediaType mediaType, Supplier<GenericHttpMessageConverter<Object>> converter) {
+            this.mediaType = mediaType;
+            this.converter = converter;
+        }
+    }
+
+    @Param({"500", "10000"})
+    private int size;
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private Format format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private List<Event> events;
+
+    @Setup
+    public void setUp() throws IOException {
+        converter = format.converter.get();
+        LocalDateTime date = LocalDateTime.of(2030, 10, 1, 20, 0);
+        events = LongStream.range(0, size)
+                .mapToObj(i -> Event.builder()
+                        .id(1_000_000 + i)
+                        .name("Concert " + i)
+                        .description("Benchmark concert number " + i + " at the stadium, doors open at 19:00")
+                        .date(date.plusMinutes(i * 30))
+                        .version(i % 5)
+                        .build())
+                .toList();
+    }
+
+    // Size of the body, in the results next to the time it took to write. JMH adds up event counters over threads,
+    // measurement iterations and forks, so each of them reports its share and the total is the size
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Body {
+
+        public double bytes;
+
+        private double share;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams benchmark, IterationParams iteration) {
+            bytes = 0;
+            share = iteration.getType() == IterationType.MEASUREMENT
+                    ? 1.0 / (benchmark.getThreads() * Math.max(benchmark.getForks(), 1) * iteration.getCount())
+                    : 0;
+        }
+
+        void record(long size) {
+            bytes = size * share;
+        }
+    }
+
+    @Benchmark
+    public long write(Body body) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(counter);
+            converter.write(events, EVENT_LIST, format.mediaType, new OutputMessage(compressed));
+            compressed.finish();
+        } else {
+            converter.write(events, EVENT_LIST, format.mediaType, new OutputMessage(counter));
+        }
+        body.record(counter.bytes);
+        return counter.bytes;
+    }
+
+    // Same settings as spring.jackson.* in the application properties
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd'T'HH:mm")
+                .timeZone("America/Argentina/Buenos_Aires");
+    }
+
+    private static final class OutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body;
+
+        private OutputMessage(OutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.TpApplication;
+import ar.edu.palermo.devops.tp.service.EventExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A full {@link EventExporter} export of {@code rows} events (1M by default) in each format, with and without
+ * gzip, into an output that only counts the bytes. Each invocation is one complete export.
+ * <p>
+ * Connects as {@link EventServiceBenchmark} does. The events are inserted above the highest existing id before
+ * the measurements and deleted after them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventExportBenchmark {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"NDJSON", "CSV", "COLUMNAR"})
+    private EventExporter.Format format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private EventExporter eventExporter;
+    private JdbcTemplate jdbcTemplate;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url");
+        String username = System.getProperty("benchmark.datasource.username", "eventuser");
+        String password = System.getProperty("benchmark.datasource.password", "eventpassword");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:17.5-alpine3.21");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        context = new SpringApplicationBuilder(TpApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        eventExporter = context.getBean(EventExporter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // Above every id in use, and the sequence moved past them so the application never hands them out
+        firstId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) + 1 FROM event", Long.class);
+        jdbcTemplate.update("INSERT INTO event (id, name, description, date) "
+                + "SELECT ? + i, 'Concert ' || i, 'Benchmark concert number ' || i, "
+                + "timestamp '2030-01-01 20:00' + i * interval '1 minute' FROM generate_series(0, ? - 1) AS i",
+                firstId, rows);
+        jdbcTemplate.queryForObject("SELECT setval('event_seq', greatest(nextval('event_seq'), ?))", Long.class,
+                firstId + rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM event WHERE id >= ? AND id < ?", firstId, firstId + rows);
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        if (gzip) {
+            GZIPOutputStream out = new GZIPOutputStream(counter, GZIP_BUFFER_SIZE);
+            eventExporter.exportEvents(out, format);
+            out.finish();
+        } else {
+            eventExporter.exportEvents(counter, format);
+        }
+        return counter.bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.mapper.EventMapper;
+import ar.edu.palermo.devops.tp.mapper.EventMapperImpl;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated {@link EventMapper} with the ModelMapper setup it replaced.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="EventMapperBenchmark -prof gc"};
+ * the gc profiler reports the allocation rate per operation next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private EventDto create;
+    private EventDto partialUpdate;
+    private Event target;
+
+    @Setup
+    public void setUp() {
+        // Same configuration the service used before the generated mapper
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(AccessLevel.PRIVATE);
+        eventMapper = new EventMapperImpl();
+
+        create = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires",
+                LocalDateTime.now().plusDays(30));
+        partialUpdate = new EventDto(1L, "Iron Maiden Live", null, null);
+        target = Event.builder()
+                .id(1L)
+                .name("Iron Maiden Concert")
+                .description("Iron Maiden Concert in Buenos Aires")
+                .date(create.date())
+                .build();
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        return modelMapper.map(create, Event.class);
+    }
+
+    @Benchmark
+    public Event generatedCreate() {
+        return eventMapper.toEvent(create);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        modelMapper.map(partialUpdate, target);
+        return target;
+    }
+
+    @Benchmark
+    public Event generatedUpdate() {
+        eventMapper.updateEvent(partialUpdate, target);
+        return target;
+    }
+}
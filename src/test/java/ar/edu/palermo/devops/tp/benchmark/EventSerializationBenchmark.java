@@ -0,0 +1,95 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson (de)serialization of event lists, with the date format and time zone the application uses. {@code bean}
+ * swaps EventSerializer and EventDtoDeserializer for Jackson's bean (de)serializers; run with {@code -prof gc} to
+ * compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final TypeReference<List<EventDto>> EVENT_DTO_LIST = new TypeReference<>() {};
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    @Param({"custom", "bean"})
+    private String serializer;
+
+    private ObjectMapper objectMapper;
+    private List<Event> events;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same settings as spring.jackson.* in the application properties
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .simpleDateFormat("yyyy-MM-dd'T'HH:mm")
+                .timeZone("America/Argentina/Buenos_Aires")
+                .build();
+        if (serializer.equals("bean")) {
+            objectMapper.addMixIn(Event.class, BeanEvent.class).addMixIn(EventDto.class, BeanEventDto.class);
+        }
+
+        LocalDateTime date = LocalDateTime.of(2030, 10, 1, 20, 0);
+        events = LongStream.range(0, size)
+                .mapToObj(i -> Event.builder()
+                        .id(i)
+                        .name("Concert " + i)
+                        .description("Benchmark concert number " + i)
+                        .date(date.plusDays(i))
+                        .build())
+                .toList();
+        json = objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] serializeEvents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public List<EventDto> deserializeEventDtos() throws Exception {
+        return objectMapper.readValue(json, EVENT_DTO_LIST);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanEvent {
+    }
+
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanEventDto {
+    }
+}
@@ -0,0 +1,162 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.TpApplication;
+import ar.edu.palermo.devops.tp.mapper.EventMapper;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.repository.EventRepository;
+import ar.edu.palermo.devops.tp.service.EventServiceInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link EventServiceInterface} operations against a real Postgres, with the application context and
+ * caches configured as in production.
+ * <p>
+ * A Testcontainers Postgres is started unless {@code -Dbenchmark.datasource.url} (plus
+ * {@code .username} / {@code .password}) points at an existing database. Flyway migrates that database
+ * and the schema stays; the events the benchmark wrote are deleted when it ends. Still, only use a scratch
+ * database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    private static final int SEED_SIZE = 1000;
+
+    private static final String DESCRIPTION_PREFIX = "Benchmark concert number ";
+    private static final String DISPOSABLE_DESCRIPTION = "Created to be deleted by the benchmark";
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private EventServiceInterface eventService;
+    private EventRepository eventRepository;
+    private EventMapper eventMapper;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url");
+        String username = System.getProperty("benchmark.datasource.username", "eventuser");
+        String password = System.getProperty("benchmark.datasource.password", "eventpassword");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:17.5-alpine3.21");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        context = new SpringApplicationBuilder(TpApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        // SQL and request logging would dominate the measurements
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        eventService = context.getBean(EventServiceInterface.class);
+        eventRepository = context.getBean(EventRepository.class);
+        eventMapper = context.getBean(EventMapper.class);
+
+        ids = eventService.saveAll(IntStream.range(0, SEED_SIZE).mapToObj(EventServiceBenchmark::newEvent).toList())
+                .items().stream()
+                .map(item -> item.id())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Seeded, saved and never deleted events, recognizable by their descriptions
+        context.getBean(JdbcTemplate.class).update("DELETE FROM event WHERE description LIKE ? OR description = ?",
+                DESCRIPTION_PREFIX + "%", DISPOSABLE_DESCRIPTION);
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public Event findById() {
+        return eventService.findById(randomId());
+    }
+
+    @Benchmark
+    public Window<Event> findFirstPage() {
+        return eventService.findPage(null, 50);
+    }
+
+    @Benchmark
+    public Event save() {
+        return eventService.save(newEvent(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    public Event update() {
+        return eventService.update(randomId(), new EventDto(null, "Updated Concert", null, null), null);
+    }
+
+    // Read, map and save as EventService.update did before the single UPDATE ... RETURNING statement
+    @Benchmark
+    public Event updateWithFindAndSave() {
+        Event event = eventRepository.findById(randomId()).orElseThrow();
+        eventMapper.updateEvent(new EventDto(null, "Updated Concert", null, null), event);
+        return eventRepository.save(event);
+    }
+
+    @Benchmark
+    public void delete(DeleteTarget target) {
+        eventService.delete(target.id);
+    }
+
+    // Each delete needs a row of its own; the insert happens outside the measured call
+    @State(Scope.Thread)
+    public static class DeleteTarget {
+        private Long id;
+
+        @Setup(Level.Invocation)
+        public void insert(EventServiceBenchmark benchmark) {
+            id = benchmark.eventRepository.save(Event.builder()
+                    .name("Disposable Concert")
+                    .description(DISPOSABLE_DESCRIPTION)
+                    .build()).getId();
+        }
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static EventDto newEvent(int i) {
+        return new EventDto(null, "Concert " + i, DESCRIPTION_PREFIX + i,
+                LocalDateTime.now().plusDays(30));
+    }
+}
@@ -0,0 +1,82 @@
+package ar.edu.palermo.devops.tp.benchmark;
+
+import ar.edu.palermo.devops.tp.controller.EventController;
+import ar.edu.palermo.devops.tp.controller.GlobalExceptionController;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the 400 response bodies in {@link GlobalExceptionController}, from a request body that
+ * breaks every constraint of {@link EventDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationErrorBenchmark {
+
+    private final GlobalExceptionController controller = new GlobalExceptionController();
+
+    private Validator validator;
+    private SpringValidatorAdapter springValidator;
+    private EventDto invalid;
+    private MethodParameter createEventBody;
+    private MethodArgumentNotValidException argumentNotValid;
+    private ConstraintViolationException constraintViolation;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        springValidator = new SpringValidatorAdapter(validator);
+        invalid = new EventDto(null, "AC", "Short", LocalDateTime.of(2000, 1, 1, 0, 0));
+        createEventBody = new MethodParameter(EventController.class.getMethod("createEvent", EventDto.class), 0);
+
+        argumentNotValid = bindAndValidate();
+        constraintViolation = new ConstraintViolationException(validator.validate(invalid));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> handleArgumentNotValid() {
+        return controller.handleValidation(argumentNotValid);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> handleConstraintViolation() {
+        return controller.handleConstraintViolation(constraintViolation);
+    }
+
+    // What a rejected POST costs end to end: bean validation, binding errors and the response body
+    @Benchmark
+    public ResponseEntity<Map<String, String>> validateAndHandle() {
+        return controller.handleValidation(bindAndValidate());
+    }
+
+    private MethodArgumentNotValidException bindAndValidate() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "eventDto");
+        springValidator.validate(invalid, bindingResult);
+        return new MethodArgumentNotValidException(createEventBody, bindingResult);
+    }
+}
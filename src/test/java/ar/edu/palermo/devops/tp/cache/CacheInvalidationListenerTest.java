@@ -0,0 +1,141 @@
+package ar.edu.palermo.devops.tp.cache;
+
+import ar.edu.palermo.devops.tp.AbstractContainer;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+// Two nodes on the same database: one publishes through its transactions, the other listens
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CacheInvalidationListenerTest extends AbstractContainer {
+    private static final String CHANNEL = "events_test";
+
+    @Autowired
+    private DataSourceProperties dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheInvalidation invalidation = mock(CacheInvalidation.class);
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        listener = new CacheInvalidationListener(dataSource.determineUrl(), dataSource.determineUsername(),
+                dataSource.determinePassword(), CHANNEL, "listening-node", Duration.ofMillis(100), invalidation);
+        listener.start();
+        await().until(() -> listenerPid() != null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        listener.stop();
+    }
+
+    @DisplayName("Changes committed on another node are evicted together, once per event")
+    @Test
+    public void evict_whenAnotherNodeCommits_ShouldEvictItsEvents() {
+        // Given
+        final CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(jdbcTemplate, CHANNEL, "other-node");
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publisher.on(EventChange.updated(event(1L)));
+            publisher.on(EventChange.updated(event(2L)));
+            publisher.on(EventChange.deleted(1L));
+        });
+
+        // Then
+        verify(invalidation, timeout(5000)).evict(Set.of(1L, 2L));
+        verifyNoMoreInteractions(invalidation);
+    }
+
+    @DisplayName("Rolled back changes and changes made by the listening node itself are not evicted")
+    @Test
+    public void evict_whenRolledBackOrOwnChange_ShouldNotEvict() {
+        // Given
+        final CacheInvalidationPublisher other = new CacheInvalidationPublisher(jdbcTemplate, CHANNEL, "other-node");
+        final CacheInvalidationPublisher own = new CacheInvalidationPublisher(jdbcTemplate, CHANNEL, "listening-node");
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        transaction.executeWithoutResult(status -> {
+            other.on(EventChange.updated(event(1L)));
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> own.on(EventChange.updated(event(2L))));
+        transaction.executeWithoutResult(status -> other.on(EventChange.updated(event(3L))));
+
+        // Then
+        verify(invalidation, timeout(5000)).evict(Set.of(3L));
+        verifyNoMoreInteractions(invalidation);
+    }
+
+    @DisplayName("After losing its connection the listener listens again and invalidates everything")
+    @Test
+    public void evictAll_whenConnectionIsLost_ShouldReconnectAndEvictAll() {
+        // Given
+        final Integer pid = listenerPid();
+
+        // When
+        jdbcTemplate.queryForObject("SELECT pg_terminate_backend(?)", Boolean.class, pid);
+
+        // Then
+        verify(invalidation, timeout(15000)).evictAll();
+        await().until(() -> listenerPid() != null && !listenerPid().equals(pid));
+        new CacheInvalidationPublisher(jdbcTemplate, CHANNEL, "other-node").on(EventChange.deleted(4L));
+        verify(invalidation, timeout(5000)).evict(Set.of(4L));
+        verify(invalidation, never()).evict(argThat(ids -> !ids.equals(Set.of(4L))));
+    }
+
+    @DisplayName("Large notifications are split under the payload limit of Postgres")
+    @Test
+    public void encode_whenManyIds_ShouldSplitPayloads() {
+        // Given
+        final List<Long> ids = LongStream.rangeClosed(1_000_000, 1_002_000).boxed().toList();
+
+        // When
+        final List<String> payloads = InvalidationMessage.encode("node", ids);
+
+        // Then
+        assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload).hasSizeLessThan(8000));
+        assertThat(payloads.stream().flatMap(payload -> InvalidationMessage.parse(payload).eventIds().stream()))
+                .containsExactlyElementsOf(ids);
+    }
+
+    private Integer listenerPid() {
+        return jdbcTemplate.query("SELECT pid FROM pg_stat_activity WHERE application_name = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, CacheInvalidationListener.APPLICATION_NAME);
+    }
+
+    private static Event event(Long id) {
+        return Event.builder().id(id).name("Concert " + id).version(1L).build();
+    }
+}
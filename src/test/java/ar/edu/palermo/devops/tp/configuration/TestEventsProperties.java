@@ -0,0 +1,30 @@
+package ar.edu.palermo.devops.tp.configuration;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link EventsProperties} bound as the application binds them, so a test sets only what it cares about and
+ * keeps every other {@code @DefaultValue}.
+ */
+public final class TestEventsProperties {
+
+    private TestEventsProperties() {
+    }
+
+    public static EventsProperties defaults() {
+        return with(Map.of());
+    }
+
+    /**
+     * @param overrides property values by name under {@code events.}, e.g. {@code changes.buffer-size}
+     */
+    public static EventsProperties with(Map<String, String> overrides) {
+        Map<String, String> properties = new HashMap<>();
+        overrides.forEach((name, value) -> properties.put("events." + name, value));
+        return new Binder(new MapConfigurationPropertySource(properties)).bindOrCreate("events", EventsProperties.class);
+    }
+}
@@ -1,27 +1,53 @@
 package ar.edu.palermo.devops.tp.controller;
 
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
 import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.mapper.EventMapperImpl;
+import ar.edu.palermo.devops.tp.service.EventExporter;
+import ar.edu.palermo.devops.tp.service.EventImporter;
 import ar.edu.palermo.devops.tp.service.EventService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.Assertions;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
 import ar.edu.palermo.devops.tp.model.dto.EventDto;
-
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.model.dto.EventVersionDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
@@ -31,6 +57,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EventController.class)
+@EnableConfigurationProperties(EventsProperties.class)
 public class EventControllerTest {
 
     @Autowired
@@ -39,6 +66,9 @@ public class EventControllerTest {
     @MockitoBean
     private EventService eventService;
 
+    @MockitoBean
+    private EventChangeStreamer changeStreamer;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -91,6 +121,44 @@ public class EventControllerTest {
         Mockito.verify(eventService, times(1)).save(any(EventDto.class));
     }
 
+    @DisplayName("createEvent ignores an id sent in the body and returns the one the event was saved with")
+    @Test
+    void createEvent_WhenBodyHasId_ShouldReturnGeneratedId() {
+        //given
+        final var eventId = 100L;
+        final var date = LocalDateTime.now().plusDays(30).withSecond(0).withNano(0);
+        final var eventDto = new EventDto(999L, "AC/DC Concert", "AC/DC concert in Luna Park", date);
+        final var eventMapper = new EventMapperImpl();
+
+        // The service maps and saves as EventService does, the database then assigns the id
+        ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
+        final var mapped = new ArrayList<Event>();
+        Mockito.when(eventService.save(eventDtoArgumentCaptor.capture())).thenAnswer(invocation -> {
+            Event event = eventMapper.toEvent(invocation.getArgument(0));
+            mapped.add(event);
+            return Event.builder().id(eventId).name(event.getName()).description(event.getDescription())
+                    .date(event.getDate()).version(0L).build();
+        });
+
+        //when & then
+        try {
+            mockMvc.perform(post(API_EVENTS_BASE_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(eventDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Location", containsString(API_EVENTS_BASE_URL + "/" + eventId)))
+                    .andExpect(jsonPath("id").value(eventId));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+
+        Assertions.assertThat(eventDtoArgumentCaptor.getValue().id()).isEqualTo(999L);
+        Assertions.assertThat(mapped).singleElement().satisfies(event -> {
+            Assertions.assertThat(event.getId()).isNull();
+            Assertions.assertThat(event.getVersion()).isNull();
+        });
+    }
+
     @DisplayName("createEvent returns bad request when name input is shorter than 3 characters")
     @Test
     void createEvent_withInvalidName_ShouldReturnBadRequest() {
@@ -329,13 +397,14 @@ public class EventControllerTest {
                 .date(LocalDateTime.of(2025, 10, 2, 10, 0))
                 .build();
         List<Event> events = List.of(event1, event2);
-        given(eventService.findAll()).willReturn(events);
+        given(eventService.findPage(null, 50)).willReturn(Window.from(events, ScrollPosition::offset));
 
         //when & then
         try {
             mockMvc.perform(get(API_EVENTS_BASE_URL))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().doesNotExist(HttpHeaders.LINK))
                     .andExpect(jsonPath("$.length()").value(events.size()))
                     .andExpect(jsonPath("$", hasSize(events.size())))
                     .andExpect(jsonPath("$[0].id").value(event1.getId()))
@@ -351,7 +420,7 @@ public class EventControllerTest {
             Assertions.fail("Should not throw any exception");
         }
 
-        Mockito.verify(eventService, times(1)).findAll();
+        Mockito.verify(eventService, times(1)).findPage(null, 50);
     }
 
     @DisplayName("getEvents returns an empty list when no events exist")
@@ -359,7 +428,7 @@ public class EventControllerTest {
     void getEventsReturnsEmptyListWhenNoEventsExist() {
         //given
         List<Event> events = List.of();
-        given(eventService.findAll()).willReturn(events);
+        given(eventService.findPage(null, 50)).willReturn(Window.from(events, ScrollPosition::offset));
 
         //when & then
         try {
@@ -369,7 +438,338 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, times(1)).findAll();
+        Mockito.verify(eventService, times(1)).findPage(null, 50);
+    }
+
+    @DisplayName("getEvents returns a next link pointing after the last event when more events exist")
+    @Test
+    void getEvents_WhenMoreEventsExist_ShouldReturnNextLink() {
+        //given
+        final var event1 = Event.builder().id(11L).name("Iron Maiden Concert").build();
+        final var event2 = Event.builder().id(12L).name("Metallica Concert").build();
+        given(eventService.findPage(10L, 2)).willReturn(Window.from(List.of(event1, event2), ScrollPosition::offset, true));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL).param("after", "10").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(header().string(HttpHeaders.LINK, containsString(API_EVENTS_BASE_URL + "?after=12&size=2")))
+                    .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).findPage(10L, 2);
+    }
+
+    @DisplayName("getEvents caps the requested page size to the configured maximum")
+    @Test
+    void getEvents_WhenSizeIsTooLarge_ShouldUseMaxPageSize() {
+        //given
+        given(eventService.findPage(null, 500)).willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL).param("size", "100000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).findPage(null, 500);
+    }
+
+    @DisplayName("getEventSummaries returns id, name and date only and links the next page")
+    @Test
+    void getEventSummaries_WhenMoreEventsExist_ShouldReturnSummariesAndNextLink() {
+        //given
+        final var date = LocalDateTime.of(2030, 5, 1, 21, 0);
+        final var summary1 = new EventSummaryDto(11L, "Iron Maiden Concert", date);
+        final var summary2 = new EventSummaryDto(12L, "Metallica Concert", date);
+        given(eventService.findPageSummaries(10L, 2))
+                .willReturn(Window.from(List.of(summary1, summary2), ScrollPosition::offset, true));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/summary").param("after", "10").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].name").value("Iron Maiden Concert"))
+                    .andExpect(jsonPath("$[0].date").value("2030-05-01T21:00"))
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andExpect(header().string(HttpHeaders.LINK, containsString(API_EVENTS_BASE_URL + "/summary?after=12&size=2")))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).findPageSummaries(10L, 2);
+    }
+
+    @DisplayName("searchEvents passes the filters and sort to the service and links the next page")
+    @Test
+    void searchEvents_WhenMoreEventsMatch_ShouldReturnNextPageLink() {
+        //given
+        final var from = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        final var to = from.plusDays(30);
+        final var criteria = new EventSearchCriteria(from, to, "iron", "buenos aires");
+        final var event = Event.builder().id(11L).name("Iron Maiden Concert").date(from.plusDays(2)).build();
+        given(eventService.search(criteria, Sort.by(Sort.Order.desc("date"), Sort.Order.asc("name")), 1, 1))
+                .willReturn(Window.from(List.of(event), ScrollPosition::offset, true));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/search")
+                            .param("from", from.toString())
+                            .param("to", to.toString())
+                            .param("name", "iron")
+                            .param("q", "buenos aires")
+                            .param("sort", "-date,name")
+                            .param("page", "1")
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].id").value(11))
+                    .andExpect(header().string(HttpHeaders.LINK, containsString("page=2&size=1")));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("searchEvents starts the range now when only upcoming events are requested")
+    @Test
+    void searchEvents_WhenUpcoming_ShouldSearchFromNow() {
+        //given
+        final var before = LocalDateTime.now();
+        final ArgumentCaptor<EventSearchCriteria> criteria = ArgumentCaptor.forClass(EventSearchCriteria.class);
+        given(eventService.search(criteria.capture(), any(), any(Integer.class), any(Integer.class)))
+                .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/search").param("upcoming", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Assertions.assertThat(criteria.getValue().from()).isAfterOrEqualTo(before);
+        Assertions.assertThat(criteria.getValue().to()).isNull();
+    }
+
+    @DisplayName("getUpcomingEvents returns the page and links the next one after the last date and id")
+    @Test
+    void getUpcomingEvents_WhenMoreEventsExist_ShouldReturnNextLink() {
+        //given
+        final var date = LocalDateTime.now().plusDays(3).withSecond(0).withNano(0);
+        final var event = Event.builder().id(11L).name("Iron Maiden Concert").date(date).build();
+        given(eventService.findUpcoming(null, null, 1))
+                .willReturn(Window.from(List.of(event), ScrollPosition::offset, true));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/upcoming").param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].id").value(11))
+                    .andExpect(header().string(HttpHeaders.LINK,
+                            containsString("afterDate=" + date + "&afterId=11&size=1")));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("importEvents reads a CSV body as CSV and returns the import result")
+    @Test
+    void importEvents_WhenBodyIsCsv_ShouldImportAsCsv() {
+        //given
+        final var result = new ImportResultDto(1, 1, List.of(new ImportResultDto.Rejection(3, Map.of("name", "Name cannot be blank"))), false);
+        given(eventService.importEvents(any(), Mockito.eq(EventImporter.Format.CSV))).willReturn(result);
+
+        //when & then
+        try {
+            mockMvc.perform(post(API_EVENTS_BASE_URL + "/import")
+                            .contentType("text/csv;charset=UTF-8")
+                            .content("name,description,date\nIron Maiden Concert,Iron Maiden in River,2030-10-01T20:00\n,Nameless show,\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.rejections[0].line").value(3))
+                    .andExpect(jsonPath("$.rejections[0].errors.name").value("Name cannot be blank"));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("importEvents returns unsupported media type for bodies that are neither NDJSON nor CSV")
+    @Test
+    void importEvents_WhenBodyIsJsonArray_ShouldReturnUnsupportedMediaType() {
+        //when & then
+        try {
+            mockMvc.perform(post(API_EVENTS_BASE_URL + "/import")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isUnsupportedMediaType());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).importEvents(any(), any());
+    }
+
+    @DisplayName("exportEvents streams the export gzipped when the client accepts gzip")
+    @Test
+    void exportEvents_WhenGzipIsAccepted_ShouldCompressTheExport() {
+        //given
+        final String csv = "id,name,description,date,version\n1,Iron Maiden Concert,Iron Maiden in River,2030-10-01T20:00,0\n";
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(eventService).exportEvents(any(), Mockito.eq(EventExporter.Format.CSV));
+
+        //when & then
+        try {
+            MvcResult result = mockMvc.perform(get(API_EVENTS_BASE_URL + "/export")
+                            .param("format", "csv")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("events.csv")))
+                    .andReturn().getResponse().getContentAsByteArray();
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                Assertions.assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(csv);
+            }
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("exportEvents returns bad request for an unknown format")
+    @Test
+    void exportEvents_WhenFormatIsUnknown_ShouldReturnBadRequest() {
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/export").param("format", "parquet"))
+                    .andExpect(status().isBadRequest());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).exportEvents(any(), any());
+    }
+
+    @DisplayName("getUpcomingEvents returns bad request when only half of the cursor is sent")
+    @Test
+    void getUpcomingEvents_WhenCursorIsIncomplete_ShouldReturnBadRequest() {
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/upcoming").param("afterId", "11"))
+                    .andExpect(status().isBadRequest());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).findUpcoming(any(), any(), any(Integer.class));
+    }
+
+    @DisplayName("searchEvents returns bad request when sorting by an unknown property")
+    @Test
+    void searchEvents_WhenSortIsUnknown_ShouldReturnBadRequest() {
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/search").param("sort", "description"))
+                    .andExpect(status().isBadRequest());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).search(any(), any(), any(Integer.class), any(Integer.class));
+    }
+
+    @DisplayName("searchEvents returns bad request when the date range is reversed")
+    @Test
+    void searchEvents_WhenFromIsAfterTo_ShouldReturnBadRequest() {
+        //given
+        final var from = LocalDateTime.now().plusDays(10).withSecond(0).withNano(0);
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/search")
+                            .param("from", from.toString())
+                            .param("to", from.minusDays(1).toString()))
+                    .andExpect(status().isBadRequest());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).search(any(), any(), any(Integer.class), any(Integer.class));
+    }
+
+    @DisplayName("getEvents returns not modified from the version probe when the page ETag matches")
+    @Test
+    void getEvents_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingEvents() {
+        //given
+        final var event = Event.builder().id(1L).name("Iron Maiden Concert").version(2L).updatedAt(Instant.now()).build();
+        given(eventService.findPage(null, 50)).willReturn(Window.from(List.of(event), ScrollPosition::offset));
+        given(eventService.findPageVersions(null, 50))
+                .willReturn(Window.from(List.of(EventVersionDto.of(event)), ScrollPosition::offset));
+
+        //when & then
+        try {
+            final String eTag = mockMvc.perform(get(API_EVENTS_BASE_URL))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                    .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get(API_EVENTS_BASE_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).findPage(null, 50);
+    }
+
+    @DisplayName("getEvents streams every event as a JSON array when stream mode is requested")
+    @Test
+    void getEvents_WhenStreamIsRequested_ShouldStreamAllEvents() {
+        //given
+        final var event1 = Event.builder()
+                .id(1L)
+                .name("Iron Maiden Concert")
+                .description("Iron Maiden concert in Estadio River Plate")
+                .date(LocalDateTime.of(2030, 10, 1, 10, 0))
+                .build();
+        final var event2 = Event.builder()
+                .id(2L)
+                .name("Metallica Concert")
+                .description("Metallica concert in Estadio River Plate")
+                .date(LocalDateTime.of(2030, 10, 2, 10, 0))
+                .build();
+        Mockito.doAnswer(invocation -> {
+            Consumer<Event> action = invocation.getArgument(0);
+            action.accept(event1);
+            action.accept(event2);
+            return null;
+        }).when(eventService).streamAll(any());
+
+        //when & then
+        try {
+            MvcResult result = mockMvc.perform(get(API_EVENTS_BASE_URL).param("stream", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].id").value(event1.getId()))
+                    .andExpect(jsonPath("$[0].date").value(event1.getDate().toString()))
+                    .andExpect(jsonPath("$[1].id").value(event2.getId()))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).findPage(any(), Mockito.anyInt());
     }
 
     @Test
@@ -432,6 +832,213 @@ public class EventControllerTest {
         Mockito.verify(eventService, times(1)).findById(nonExistentEventId);
     }
 
+    @DisplayName("streamChanges resumes after the Last-Event-ID sent by a reconnecting client")
+    @Test
+    void streamChanges_WhenLastEventIdIsSent_ShouldResumeAfterIt() {
+        //given
+        given(changeStreamer.stream(6L)).willReturn(new SseEmitter());
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/changes")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .header("Last-Event-ID", "5"))
+                    .andExpect(request().asyncStarted());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(changeStreamer, times(1)).stream(6L);
+    }
+
+    @DisplayName("streamChanges starts with the changes appended from now on when no position is given")
+    @Test
+    void streamChanges_WhenNoPositionIsGiven_ShouldStreamNewChanges() {
+        //given
+        given(changeStreamer.stream(null)).willReturn(new SseEmitter());
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(changeStreamer, times(1)).stream(null);
+    }
+
+    @DisplayName("getEventById returns the ETag and Last-Modified of the event")
+    @Test
+    void getEventById_WhenEventExists_ShouldReturnValidators() {
+        //given
+        final var updatedAt = Instant.parse("2026-10-01T12:00:00Z");
+        final var event = Event.builder().id(1L).name("Iron Maiden Concert").version(3L).updatedAt(updatedAt).build();
+        given(eventService.findById(1L)).willReturn(event);
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, updatedAt.toEpochMilli()))
+                    .andExpect(jsonPath("$.version").value(3));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("getEventById returns not modified from the version probe without loading the event")
+    @Test
+    void getEventById_WhenETagMatches_ShouldReturnNotModified() {
+        //given
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 3L, Instant.now()));
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(content().string(""));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).findById(any());
+    }
+
+    @DisplayName("getEventById returns the event with a single ETag when the conditional request does not match")
+    @Test
+    void getEventById_WhenETagDoesNotMatch_ShouldReturnEvent() {
+        //given
+        final var updatedAt = Instant.now();
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 4L, updatedAt));
+        given(eventService.findById(1L))
+                .willReturn(Event.builder().id(1L).name("Iron Maiden Concert").version(4L).updatedAt(updatedAt).build());
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, "\"4\""))
+                    .andExpect(jsonPath("$.name").value("Iron Maiden Concert"));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("getEventById returns a different ETag for each encoding of the same event version")
+    @Test
+    void getEventById_WhenEncodingsDiffer_ShouldReturnDifferentETags() {
+        //given
+        final var event = Event.builder().id(1L).name("Iron Maiden Concert").version(3L).updatedAt(Instant.now()).build();
+        given(eventService.findById(1L)).willReturn(event);
+
+        //when & then
+        try {
+            final var json = mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            final var cbor = mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L).accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            Assertions.assertThat(json).isEqualTo("\"3\"");
+            Assertions.assertThat(cbor).isEqualTo("\"3-cbor\"").isNotEqualTo(json);
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("getEventById returns not modified only for the ETag of the negotiated encoding")
+    @Test
+    void getEventById_WhenETagIsOfAnotherEncoding_ShouldReturnEvent() {
+        //given
+        final var updatedAt = Instant.now();
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 3L, updatedAt));
+        given(eventService.findById(1L))
+                .willReturn(Event.builder().id(1L).name("Iron Maiden Concert").version(3L).updatedAt(updatedAt).build());
+
+        //when & then
+        try {
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""));
+            mockMvc.perform(get(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"3-cbor\""))
+                    .andExpect(status().isNotModified());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("updateEvent accepts in If-Match the ETag of the version in any encoding")
+    @Test
+    void updateEvent_WhenIfMatchIsOfAnotherEncoding_ShouldUpdateAtThatVersion() {
+        //given
+        final var eventDto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden concert in Buenos Aires",
+                LocalDateTime.now().plusDays(10).withSecond(0).withNano(0));
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 3L, Instant.now()));
+        given(eventService.update(1L, eventDto, 3L))
+                .willReturn(Event.builder().id(1L).name("Iron Maiden Concert").version(4L).updatedAt(Instant.now()).build());
+
+        //when & then
+        try {
+            mockMvc.perform(put(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .header(HttpHeaders.IF_MATCH, "\"3-cbor\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(eventDto)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
+    @DisplayName("updateEvent returns precondition failed when If-Match does not match the current version")
+    @Test
+    void updateEvent_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() {
+        //given
+        final var eventDto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden concert in Buenos Aires",
+                LocalDateTime.now().plusDays(10).withSecond(0).withNano(0));
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 4L, Instant.now()));
+
+        //when & then
+        try {
+            mockMvc.perform(put(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(eventDto)))
+                    .andExpect(status().isPreconditionFailed());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).update(any(), any(), any());
+    }
+
+    @DisplayName("patchEvent writes conditioned on the version matched by If-Match")
+    @Test
+    void patchEvent_WhenIfMatchMatches_ShouldPatchAtThatVersion() {
+        //given
+        final var patchedEvent = Event.builder().id(1L).name("Updated Concert").version(4L).updatedAt(Instant.now()).build();
+        given(eventService.findVersion(1L)).willReturn(new EventVersionDto(1L, 3L, Instant.now()));
+        given(eventService.patch(1L, new EventDto(null, "Updated Concert", null, null), Set.of("name"), 3L))
+                .willReturn(patchedEvent);
+
+        //when & then
+        try {
+            mockMvc.perform(patch(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType("application/merge-patch+json")
+                            .content("{\"name\": \"Updated Concert\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+    }
+
     @DisplayName("updateEvent updates and returns the event when input is valid")
     @Test
     void updateEvent_WhenDataIsOk_ShouldReturnUpdatedEvent() {
@@ -452,7 +1059,7 @@ public class EventControllerTest {
 
         ArgumentCaptor<Long> eventIdArgumentCaptor = ArgumentCaptor.forClass(Long.class);
         ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
-        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture()))
+        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture(), Mockito.isNull()))
                 .willReturn(updatedEvent);
 
         // when & then
@@ -479,7 +1086,7 @@ public class EventControllerTest {
         Assertions.assertThat(eventDtoCapturedRequestValue.date()).isEqualTo(date);
         Assertions.assertThat(eventDtoCapturedRequestValue.id()).isNull();
 
-        Mockito.verify(eventService, times(1)).update(eventId, eventDto);
+        Mockito.verify(eventService, times(1)).update(eventId, eventDto, null);
     }
 
     @DisplayName("updateEvent returns not found when event does not exist")
@@ -497,7 +1104,7 @@ public class EventControllerTest {
 
         ArgumentCaptor<Long> eventIdArgumentCaptor = ArgumentCaptor.forClass(Long.class);
         ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
-        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture()))
+        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture(), Mockito.isNull()))
                 .willThrow(new EventNotFoundException(nonExistentEventId));
 
         // when & then
@@ -523,7 +1130,7 @@ public class EventControllerTest {
         Assertions.assertThat(eventDtoCapturedRequestValue.date()).isEqualTo(date);
         Assertions.assertThat(eventDtoCapturedRequestValue.id()).isNull();
 
-        Mockito.verify(eventService, times(1)).update(nonExistentEventId, eventDto);
+        Mockito.verify(eventService, times(1)).update(nonExistentEventId, eventDto, null);
     }
 
     @DisplayName("updateEvent returns bad request when name input is shorter than 3 characters")
@@ -548,7 +1155,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when name input is longer than 50 characters")
@@ -573,7 +1180,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when name input is blank")
@@ -598,7 +1205,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when name input is null")
@@ -622,7 +1229,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when description input is null")
@@ -646,7 +1253,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when description input is blank")
@@ -671,7 +1278,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when description input is shorter than 10 characters")
@@ -696,7 +1303,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when description input is longer than 200 characters")
@@ -719,7 +1326,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("updateEvent returns bad request when date input is in the past")
@@ -744,7 +1351,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).update(any(), any(), any());
     }
 
     @DisplayName("patchEvent updates and returns the event when input is valid")
@@ -754,7 +1361,7 @@ public class EventControllerTest {
         final var eventId = 1L;
         final var name = "Updated Concert";
         final var description = "Updated concert description";
-        final var date = LocalDateTime.of(2025, 12, 10, 18, 0);
+        final var date = LocalDateTime.now().plusDays(30).withSecond(0).withNano(0);
 
         final var eventDto = new EventDto(null, name, description, date);
 
@@ -767,7 +1374,7 @@ public class EventControllerTest {
 
         ArgumentCaptor<Long> eventIdArgumentCaptor = ArgumentCaptor.forClass(Long.class);
         ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
-        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture()))
+        given(eventService.patch(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture(), any(), Mockito.isNull()))
                 .willReturn(updatedEvent);
 
         // when & then
@@ -794,7 +1401,77 @@ public class EventControllerTest {
         Assertions.assertThat(eventDtoCapturedRequestValue.date()).isEqualTo(date);
         Assertions.assertThat(eventDtoCapturedRequestValue.id()).isNull();
 
-        Mockito.verify(eventService, times(1)).update(eventId, eventDto);
+        Mockito.verify(eventService, times(1)).patch(eventId, eventDto, Set.of("name", "description", "date"), null);
+    }
+
+    @DisplayName("patchEvent applies and validates only the fields present in the merge patch")
+    @Test
+    void patchEvent_WhenOnlyNameIsSent_ShouldPatchOnlyName() {
+        // given
+        final var eventId = 1L;
+        final var name = "Updated Concert";
+        final var patchedEvent = Event.builder()
+                .id(eventId)
+                .name(name)
+                .description("Original concert description")
+                .date(LocalDateTime.now().plusDays(30).withSecond(0).withNano(0))
+                .build();
+        given(eventService.patch(Mockito.eq(eventId), any(), Mockito.eq(Set.of("name")), Mockito.isNull())).willReturn(patchedEvent);
+
+        // when & then
+        try {
+            mockMvc.perform(patch(API_EVENTS_BASE_URL + "/{id}", eventId)
+                            .contentType("application/merge-patch+json")
+                            .content("{\"name\": \"" + name + "\", \"id\": 99}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(eventId))
+                    .andExpect(jsonPath("$.name").value(name))
+                    .andExpect(jsonPath("$.description").value(patchedEvent.getDescription()))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).patch(eventId, new EventDto(99L, name, null, null), Set.of("name"), null);
+    }
+
+    @DisplayName("patchEvent allows removing the date with a null member")
+    @Test
+    void patchEvent_WhenDateIsNull_ShouldRemoveDate() {
+        // given
+        final var eventId = 1L;
+        final var patchedEvent = Event.builder().id(eventId).name("AC/DC Concert").build();
+        given(eventService.patch(Mockito.eq(eventId), any(), Mockito.eq(Set.of("date")), Mockito.isNull())).willReturn(patchedEvent);
+
+        // when & then
+        try {
+            mockMvc.perform(patch(API_EVENTS_BASE_URL + "/{id}", eventId)
+                            .contentType("application/merge-patch+json")
+                            .content("{\"date\": null}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.date").isEmpty())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).patch(eventId, new EventDto(null, null, null, null), Set.of("date"), null);
+    }
+
+    @DisplayName("patchEvent returns bad request when a present field is removed but it is required")
+    @Test
+    void patchEvent_WhenRequiredFieldIsRemoved_ShouldReturnBadRequest() {
+        // when & then
+        try {
+            mockMvc.perform(patch(API_EVENTS_BASE_URL + "/{id}", 1L)
+                            .contentType("application/merge-patch+json")
+                            .content("{\"description\": null}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.description").value("Description cannot be blank"))
+                    .andExpect(jsonPath("$.name").doesNotExist())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns not found when event does not exist")
@@ -804,7 +1481,7 @@ public class EventControllerTest {
         final var nonExistentEventId = 999L;
         final var name = "Non-existent Concert";
         final var description = "Non-existent concert description";
-        final var date = LocalDateTime.of(2025, 12, 10, 18, 0);
+        final var date = LocalDateTime.now().plusDays(30).withSecond(0).withNano(0);
 
         final var eventDto = new EventDto(null, name, description, date);
 
@@ -812,7 +1489,7 @@ public class EventControllerTest {
 
         ArgumentCaptor<Long> eventIdArgumentCaptor = ArgumentCaptor.forClass(Long.class);
         ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
-        given(eventService.update(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture()))
+        given(eventService.patch(eventIdArgumentCaptor.capture(), eventDtoArgumentCaptor.capture(), any(), Mockito.isNull()))
                 .willThrow(new EventNotFoundException(nonExistentEventId));
 
         // when & then
@@ -838,7 +1515,7 @@ public class EventControllerTest {
         Assertions.assertThat(eventDtoCapturedRequestValue.date()).isEqualTo(date);
         Assertions.assertThat(eventDtoCapturedRequestValue.id()).isNull();
 
-        Mockito.verify(eventService, times(1)).update(nonExistentEventId, eventDto);
+        Mockito.verify(eventService, times(1)).patch(nonExistentEventId, eventDto, Set.of("name", "description", "date"), null);
     }
 
     @DisplayName("patchEvent returns bad request when name input is shorter than 3 characters")
@@ -863,7 +1540,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when name input is longer than 50 characters")
@@ -888,7 +1565,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when name input is blank")
@@ -913,7 +1590,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when name input is null")
@@ -937,7 +1614,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when description input is shorter than 10 characters")
@@ -962,7 +1639,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when description input is longer than 200 characters")
@@ -985,7 +1662,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when description input is blank")
@@ -1010,7 +1687,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when description input is null")
@@ -1034,7 +1711,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("patchEvent returns bad request when date input is in the past")
@@ -1059,7 +1736,7 @@ public class EventControllerTest {
         } catch (Exception e) {
             Assertions.fail("Should not throw any exception");
         }
-        Mockito.verify(eventService, never()).update(any(), any());
+        Mockito.verify(eventService, never()).patch(any(), any(), any(), any());
     }
 
     @DisplayName("deleteEvent deletes the event and returns no content")
@@ -1111,4 +1788,101 @@ public class EventControllerTest {
         Mockito.verify(eventService, times(1)).delete(nonExistentEventId);
         Assertions.assertThat(eventIdArgumentCaptor.getValue()).isEqualTo(nonExistentEventId);
     }
+
+    @DisplayName("createEvents returns the per item result of the batch")
+    @Test
+    void createEvents_WhenBatchIsOk_ShouldReturnBatchResult() {
+        // given
+        final var date = LocalDateTime.now().plusDays(10).withSecond(0).withNano(0);
+        final var valid = new EventDto(null, "AC/DC Concert", "AC/DC concert in Luna Park", date);
+        final var invalid = new EventDto(null, "AC", "AC/DC concert in Luna Park", date);
+        final var batchResult = BatchResultDto.of(List.of(
+                BatchResultDto.Item.succeeded(0, 100L, BatchResultDto.Status.CREATED),
+                BatchResultDto.Item.failed(1, null, BatchResultDto.Status.INVALID,
+                        Map.of("name", "Name must be between 3 and 50 characters"))));
+        given(eventService.saveAll(List.of(valid, invalid))).willReturn(batchResult);
+
+        // when & then
+        try {
+            mockMvc.perform(post(API_EVENTS_BASE_URL + "/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(1))
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.items[0].id").value(100L))
+                    .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+                    .andExpect(jsonPath("$.items[1].errors.name").value("Name must be between 3 and 50 characters"))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).saveAll(List.of(valid, invalid));
+    }
+
+    @DisplayName("updateEvents returns the per item result of the batch")
+    @Test
+    void updateEvents_WhenBatchIsOk_ShouldReturnBatchResult() {
+        // given
+        final var date = LocalDateTime.now().plusDays(10).withSecond(0).withNano(0);
+        final var dto = new EventDto(999L, "AC/DC Concert", "AC/DC concert in Luna Park", date);
+        final var batchResult = BatchResultDto.of(List.of(BatchResultDto.Item.failed(0, 999L,
+                BatchResultDto.Status.NOT_FOUND, Map.of("id", "Event id 999 not found."))));
+        given(eventService.updateAll(List.of(dto))).willReturn(batchResult);
+
+        // when & then
+        try {
+            mockMvc.perform(put(API_EVENTS_BASE_URL + "/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(dto))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.items[0].status").value("NOT_FOUND"))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).updateAll(List.of(dto));
+    }
+
+    @DisplayName("deleteEvents returns the per item result of the batch")
+    @Test
+    void deleteEvents_WhenBatchIsOk_ShouldReturnBatchResult() {
+        // given
+        final var batchResult = BatchResultDto.of(List.of(
+                BatchResultDto.Item.succeeded(0, 1L, BatchResultDto.Status.DELETED),
+                BatchResultDto.Item.succeeded(1, 2L, BatchResultDto.Status.DELETED)));
+        given(eventService.deleteAll(List.of(1L, 2L))).willReturn(batchResult);
+
+        // when & then
+        try {
+            mockMvc.perform(delete(API_EVENTS_BASE_URL + "/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1, 2]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(2))
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, times(1)).deleteAll(List.of(1L, 2L));
+    }
+
+    @DisplayName("createEvents returns bad request when the batch is empty")
+    @Test
+    void createEvents_WhenBatchIsEmpty_ShouldReturnBadRequest() {
+        // when & then
+        try {
+            mockMvc.perform(post(API_EVENTS_BASE_URL + "/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isBadRequest())
+                    .andDo(print());
+        } catch (Exception e) {
+            Assertions.fail("Should not throw any exception");
+        }
+        Mockito.verify(eventService, never()).saveAll(any());
+    }
 }
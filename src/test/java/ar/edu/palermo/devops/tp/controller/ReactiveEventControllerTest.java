@@ -0,0 +1,216 @@
+package ar.edu.palermo.devops.tp.controller;
+
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import ar.edu.palermo.devops.tp.service.ReactiveEventServiceInterface;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+
+@WebFluxTest(ReactiveEventController.class)
+@ActiveProfiles("reactive")
+@EnableConfigurationProperties(EventsProperties.class)
+public class ReactiveEventControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveEventServiceInterface eventService;
+
+    private static final String API_EVENTS_BASE_URL = "/api/v1/events";
+
+    @DisplayName("createEvent returns created event and location header when input is valid")
+    @Test
+    void createEvent_WhenDataIsOk_ShouldReturnsCreatedEventAndLocationHeader() {
+        // given
+        final var date = LocalDateTime.now().plusDays(10).withSecond(0).withNano(0);
+        final var eventDto = new EventDto(null, "AC/DC Concert", "AC/DC concert in Luna Park", date);
+        final var savedEvent = Event.builder()
+                .id(100L)
+                .name(eventDto.name())
+                .description(eventDto.description())
+                .date(date)
+                .build();
+        given(eventService.save(eventDto)).willReturn(Mono.just(savedEvent));
+
+        // when & then
+        webTestClient.post().uri(API_EVENTS_BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value(HttpHeaders.LOCATION, location -> location.endsWith(API_EVENTS_BASE_URL + "/100"))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(100)
+                .jsonPath("$.name").isEqualTo("AC/DC Concert")
+                .jsonPath("$.date").isEqualTo(date.toString());
+    }
+
+    @DisplayName("createEvent returns bad request with the field errors when input is invalid")
+    @Test
+    void createEvent_WhenDataIsInvalid_ShouldReturnBadRequest() {
+        // when & then
+        webTestClient.post().uri(API_EVENTS_BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EventDto(null, "AC", null, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Name must be between 3 and 50 characters")
+                .jsonPath("$.description").isEqualTo("Description cannot be blank");
+
+        Mockito.verify(eventService, never()).save(any());
+    }
+
+    @DisplayName("getEvents returns the page and a next link when more events exist")
+    @Test
+    void getEvents_WhenMoreEventsExist_ShouldReturnNextLink() {
+        // given
+        final List<Event> events = List.of(
+                Event.builder().id(1L).name("AC/DC Concert").description("AC/DC concert in Luna Park").build(),
+                Event.builder().id(2L).name("Metallica Concert").description("Metallica concert in River").build());
+        given(eventService.findPage(null, 2)).willReturn(Mono.just(Window.from(events, ScrollPosition::offset, true)));
+
+        // when & then
+        webTestClient.get().uri(API_EVENTS_BASE_URL + "?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> link.contains("after=2&size=2"))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].id").isEqualTo(2);
+    }
+
+    @DisplayName("searchEvents returns the matching events and a next page link")
+    @Test
+    void searchEvents_WhenMoreEventsMatch_ShouldReturnNextPageLink() {
+        // given
+        final var criteria = new EventSearchCriteria(null, null, "ac/dc", null);
+        given(eventService.search(criteria, Sort.by("name"), 0, 1)).willReturn(Mono.just(Window.from(
+                List.of(Event.builder().id(1L).name("AC/DC Concert").description("AC/DC concert in Luna Park").build()),
+                ScrollPosition::offset, true)));
+
+        // when & then
+        webTestClient.get().uri(API_EVENTS_BASE_URL + "/search?name={name}&sort=name&size=1", "ac/dc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> link.contains("page=1&size=1"))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("AC/DC Concert");
+    }
+
+    @DisplayName("streamEvents writes every event as one JSON array")
+    @Test
+    void streamEvents_ShouldReturnAllEvents() {
+        // given
+        given(eventService.streamAll()).willReturn(Flux.just(
+                Event.builder().id(1L).name("AC/DC Concert").description("AC/DC concert in Luna Park").build(),
+                Event.builder().id(2L).name("Metallica Concert").description("Metallica concert in River").build()));
+
+        // when & then
+        webTestClient.get().uri(API_EVENTS_BASE_URL + "?stream=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("AC/DC Concert");
+    }
+
+    @DisplayName("getEventById returns not found when event does not exist")
+    @Test
+    void getEventById_WhenEventDoesNotExist_ShouldReturnNotFound() {
+        // given
+        given(eventService.findById(999L)).willReturn(Mono.error(new EventNotFoundException(999L)));
+
+        // when & then
+        webTestClient.get().uri(API_EVENTS_BASE_URL + "/{id}", 999L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @DisplayName("patchEvent applies and validates only the fields present in the merge patch")
+    @Test
+    void patchEvent_WhenOnlyNameIsSent_ShouldPatchOnlyName() {
+        // given
+        final var patchedEvent = Event.builder().id(1L).name("Updated Concert").description("AC/DC concert in Luna Park").build();
+        given(eventService.patch(1L, new EventDto(null, "Updated Concert", null, null), Set.of("name")))
+                .willReturn(Mono.just(patchedEvent));
+
+        // when & then
+        webTestClient.patch().uri(API_EVENTS_BASE_URL + "/{id}", 1L)
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue("{\"name\": \"Updated Concert\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Updated Concert");
+    }
+
+    @DisplayName("patchEvent returns bad request when a present field is removed but it is required")
+    @Test
+    void patchEvent_WhenRequiredFieldIsRemoved_ShouldReturnBadRequest() {
+        // when & then
+        webTestClient.patch().uri(API_EVENTS_BASE_URL + "/{id}", 1L)
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .bodyValue("{\"description\": null}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Description cannot be blank");
+
+        Mockito.verify(eventService, never()).patch(any(), any(), any());
+    }
+
+    @DisplayName("deleteEvent deletes the event and returns no content")
+    @Test
+    void deleteEvent_WhenEventExists_ShouldReturnNoContent() {
+        // given
+        given(eventService.delete(1L)).willReturn(Mono.empty());
+
+        // when & then
+        webTestClient.delete().uri(API_EVENTS_BASE_URL + "/{id}", 1L)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Mockito.verify(eventService).delete(1L);
+    }
+
+    @DisplayName("createEvents returns bad request when the batch is empty")
+    @Test
+    void createEvents_WhenBatchIsEmpty_ShouldReturnBadRequest() {
+        // when & then
+        webTestClient.post().uri(API_EVENTS_BASE_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Mockito.verify(eventService, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,77 @@
+package ar.edu.palermo.devops.tp.http;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufEventHttpMessageConverterTest {
+
+    private static final Type EVENT_LIST = new ParameterizedTypeReference<List<Event>>() {}.getType();
+
+    private final ProtobufEventHttpMessageConverter underTest = new ProtobufEventHttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json().factory(new ProtobufFactory()).build());
+
+    @DisplayName("Should write a list of events as the Events message, with the dates formatted as in JSON")
+    @Test
+    public void write_whenListOfEvents_ShouldWriteEventsMessage() throws Exception {
+        // Given
+        final List<Event> events = List.of(
+                Event.builder().id(1L).name("Iron Maiden Concert").description("Heavy metal concert")
+                        .date(LocalDateTime.of(2030, 5, 1, 21, 0)).version(3L).build(),
+                Event.builder().id(2L).name("Metallica Concert").description("Thrash metal concert")
+                        .date(LocalDateTime.of(2030, 6, 2, 20, 30)).version(0L).build());
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        underTest.write(events, EVENT_LIST, ProtobufEventHttpMessageConverter.PROTOBUF, output);
+
+        // Then
+        assertThat(output.getHeaders().getContentType()).isEqualTo(ProtobufEventHttpMessageConverter.PROTOBUF);
+        final JsonNode read = read(output.getBodyAsBytes(), "Events");
+        assertThat(read.get("events")).hasSize(2);
+        assertThat(read.get("events").get(0).get("name").asText()).isEqualTo("Iron Maiden Concert");
+        assertThat(read.get("events").get(0).get("date").asText()).isEqualTo("2030-05-01T21:00");
+        assertThat(read.get("events").get(0).get("version").asLong()).isEqualTo(3L);
+        assertThat(read.get("events").get(1).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @DisplayName("Should only write events and collections declared as collections of events")
+    @Test
+    public void canWrite_whenNotEvents_ShouldReturnFalse() {
+        // Given
+        final Type dtoList = new ParameterizedTypeReference<List<EventDto>>() {}.getType();
+
+        // When & Then
+        assertThat(underTest.canWrite(Event.class, Event.class, ProtobufEventHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(underTest.canWrite(EVENT_LIST, List.class, ProtobufEventHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(underTest.canWrite(dtoList, List.class, ProtobufEventHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(underTest.canWrite(String.class, String.class, ProtobufEventHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(underTest.canRead(EventDto.class, null, ProtobufEventHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(underTest.getSupportedMediaTypes(ArrayList.class)).containsExactly(ProtobufEventHttpMessageConverter.PROTOBUF);
+    }
+
+    private static JsonNode read(byte[] body, String message) throws Exception {
+        try (InputStream schema = new ClassPathResource("proto/events.proto").getInputStream()) {
+            return new ProtobufMapper().readerFor(JsonNode.class)
+                    .with(ProtobufSchemaLoader.std.loadNative(schema, true).forType(message))
+                    .readValue(body);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ar.edu.palermo.devops.tp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"Iron Maiden Concert\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IdempotencyFilter underTest = new IdempotencyFilter("X-API-Key",
+            new InMemoryIdempotencyStore(Duration.ofHours(1), 1024 * 1024), Duration.ofSeconds(5),
+            Duration.ofMillis(10), new ObjectMapper(), meterRegistry);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private volatile int status = 201;
+
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    @DisplayName("Should execute a write once and replay its status, headers and body to the retries")
+    @Test
+    public void doFilter_whenRetried_ShouldReplayResponse() throws Exception {
+        // When
+        final MockHttpServletResponse first = filter("POST", "key-1", "client-1", BODY);
+        final MockHttpServletResponse retry = filter("POST", "key-1", "client-1", BODY);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/v1/events/1");
+        assertThat(retry.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED)).isEqualTo("true");
+        assertThat(meterRegistry.get("events.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should reject a key reused for another body, and keep the keys of each client apart")
+    @Test
+    public void doFilter_whenKeyReused_ShouldRejectOtherRequest() throws Exception {
+        // Given
+        filter("POST", "key-1", "client-1", BODY);
+
+        // When
+        final MockHttpServletResponse otherBody = filter("POST", "key-1", "client-1", "{\"name\":\"Metallica\"}");
+        final MockHttpServletResponse otherMethod = filter("PUT", "key-1", "client-1", BODY);
+        final MockHttpServletResponse otherClient = filter("POST", "key-1", "client-2", BODY);
+
+        // Then
+        assertThat(otherBody.getStatus()).isEqualTo(422);
+        assertThat(otherMethod.getStatus()).isEqualTo(422);
+        assertThat(otherClient.getStatus()).isEqualTo(201);
+        assertThat(otherClient.getHeader(IdempotencyFilter.REPLAYED)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    @DisplayName("Should execute again after a response a retry may change, such as a 500 or a 409")
+    @Test
+    public void doFilter_whenResponseNotKept_ShouldExecuteRetry() throws Exception {
+        // Given
+        status = 500;
+        filter("POST", "key-1", "client-1", BODY);
+        status = 409;
+        filter("POST", "key-1", "client-1", BODY);
+        status = 400;
+
+        // When
+        final MockHttpServletResponse first400 = filter("POST", "key-1", "client-1", BODY);
+        final MockHttpServletResponse retry = filter("POST", "key-1", "client-1", BODY);
+
+        // Then
+        assertThat(executions).hasValue(3);
+        assertThat(first400.getStatus()).isEqualTo(400);
+        assertThat(retry.getStatus()).isEqualTo(400);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED)).isEqualTo("true");
+    }
+
+    @DisplayName("Should make concurrent duplicates wait for the execution in progress and share its response")
+    @Test
+    public void doFilter_whenDuplicatesAreConcurrent_ShouldExecuteOnce() throws Exception {
+        // Given
+        release = new CountDownLatch(1);
+        final List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                responses.add(executor.submit(() -> filter("POST", "key-1", "client-1", BODY)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        // Then
+        assertThat(executions).hasValue(1);
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertThat(response.get().getStatus()).isEqualTo(201);
+            assertThat(response.get().getContentAsString()).isEqualTo("{\"id\":1}");
+        }
+        assertThat(responses).filteredOn(response -> response.resultNow().getHeader(IdempotencyFilter.REPLAYED) == null)
+                .hasSize(1);
+    }
+
+    @DisplayName("Should leave requests without a key and reads alone, and reject keys that are too long")
+    @Test
+    public void doFilter_whenNotAKeyedWrite_ShouldExecuteEveryTime() throws Exception {
+        // When
+        filter("POST", null, "client-1", BODY);
+        filter("POST", null, "client-1", BODY);
+        filter("GET", "key-1", "client-1", "");
+        filter("GET", "key-1", "client-1", "");
+
+        // Then
+        assertThat(executions).hasValue(4);
+        assertThat(filter("POST", "x".repeat(256), "client-1", BODY).getStatus()).isEqualTo(400);
+    }
+
+    @DisplayName("Should hand the buffered body to a non-blocking reader through its ReadListener")
+    @Test
+    public void doFilter_whenBodyIsReadAsynchronously_ShouldNotifyTheListener() throws Exception {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/events");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        final AtomicInteger allDataRead = new AtomicInteger();
+
+        // When
+        underTest.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                final ServletInputStream in = req.getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        final byte[] buffer = new byte[8];
+                        while (in.isReady() && !in.isFinished()) {
+                            read.write(buffer, 0, in.read(buffer));
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        allDataRead.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new AssertionError(t);
+                    }
+                });
+                ((HttpServletResponse) res).setStatus(201);
+            }
+        });
+
+        // Then
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    private MockHttpServletResponse filter(String method, String key, String client, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/events");
+        request.addHeader("X-API-Key", client);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        underTest.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                executions.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // The controller reads the body the filter already read
+                assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+                HttpServletResponse httpResponse = (HttpServletResponse) res;
+                httpResponse.setStatus(status);
+                httpResponse.setHeader(HttpHeaders.LOCATION, "/api/v1/events/1");
+                httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                httpResponse.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        return response;
+    }
+}
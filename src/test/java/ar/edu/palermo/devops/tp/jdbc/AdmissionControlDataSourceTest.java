@@ -0,0 +1,112 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionControlDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @DisplayName("Should queue callers beyond the permits until a connection is closed")
+    @Test
+    public void getConnection_whenNoPermitsLeft_ShouldWaitForClose() throws Exception {
+        // Given
+        given(target.getConnection()).willReturn(connection);
+        final AdmissionControlDataSource underTest = new AdmissionControlDataSource(target, 1);
+        final Connection first = underTest.getConnection();
+
+        // When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return underTest.getConnection();
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }, executor);
+            await().atMost(5, TimeUnit.SECONDS).until(() -> underTest.getQueueLength() == 1);
+            assertThat(second).isNotDone();
+
+            first.close();
+
+            // Then
+            assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(underTest.getQueueLength()).isZero();
+            assertThat(underTest.getAcquiredCount()).isEqualTo(2);
+            assertThat(underTest.getTotalWaitNanos()).isPositive();
+        }
+        verify(connection).close();
+    }
+
+    @DisplayName("Should give the permit back only once when a connection is closed twice")
+    @Test
+    public void close_whenCalledTwice_ShouldReleaseOnePermit() throws SQLException {
+        // Given
+        given(target.getConnection()).willReturn(connection);
+        final AdmissionControlDataSource underTest = new AdmissionControlDataSource(target, 2);
+        final Connection acquired = underTest.getConnection();
+
+        // When
+        acquired.close();
+        acquired.close();
+
+        // Then
+        assertThat(underTest.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @DisplayName("Should give the permit back when the pool fails to hand out a connection")
+    @Test
+    public void getConnection_whenTargetFails_ShouldReleasePermit() throws SQLException {
+        // Given
+        given(target.getConnection()).willThrow(new SQLException("Connection is not available"));
+        final AdmissionControlDataSource underTest = new AdmissionControlDataSource(target, 1);
+
+        // When
+        // Then
+        assertThatThrownBy(underTest::getConnection).isInstanceOf(SQLException.class);
+        assertThat(underTest.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @DisplayName("Should follow a resized pool, taking permits back as connections are closed")
+    @Test
+    public void setPermits_whenShrunkWithConnectionsOut_ShouldWaitForThemToClose() throws SQLException {
+        // Given
+        given(target.getConnection()).willReturn(connection);
+        final AdmissionControlDataSource underTest = new AdmissionControlDataSource(target, 3);
+        final Connection first = underTest.getConnection();
+        final Connection second = underTest.getConnection();
+
+        // When
+        underTest.setPermits(1);
+        first.close();
+        final int afterFirstClose = underTest.getAvailablePermits();
+        second.close();
+        underTest.setPermits(4);
+
+        // Then
+        assertThat(afterFirstClose).isZero();
+        assertThat(underTest.getPermits()).isEqualTo(4);
+        assertThat(underTest.getAvailablePermits()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,148 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class PoolTunerTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(10);
+
+    @Mock
+    private HikariConfigMXBean pool;
+
+    @Mock
+    private DataSource target;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Timer usage;
+
+    private Timer acquire;
+
+    private AdmissionControlDataSource admission;
+
+    @BeforeEach
+    public void setUp() {
+        given(pool.getPoolName()).willReturn("primary");
+        usage = Timer.builder("hikaricp.connections.usage").tag("pool", "primary").register(meterRegistry);
+        acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "primary").register(meterRegistry);
+        admission = new AdmissionControlDataSource(target, 5);
+    }
+
+    @DisplayName("Should recommend the busy and waiting connections over the target utilization, without resizing")
+    @Test
+    public void evaluate_whenOnlyRecommending_ShouldNotResize() {
+        // Given
+        given(pool.getMaximumPoolSize()).willReturn(5);
+        final PoolTuner underTest = tuner(false);
+        // 4 connections busy and 1 caller waiting on average
+        interval(400, Duration.ofMillis(100), Duration.ofMillis(25));
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        final PoolTuner.Report report = underTest.report();
+        assertThat(report.recommendedSize()).isEqualTo(7);
+        assertThat(report.size()).isEqualTo(5);
+        assertThat(report.decisions()).singleElement().satisfies(decision -> {
+            assertThat(decision.applied()).isFalse();
+            assertThat(decision.measurements().busyConnections()).isEqualTo(4);
+            assertThat(decision.measurements().waitingCallers()).isEqualTo(1);
+            assertThat(decision.measurements().acquisitionsPerSecond()).isEqualTo(40);
+        });
+        verify(pool, never()).setMaximumPoolSize(anyInt());
+        assertThat(admission.getPermits()).isEqualTo(5);
+    }
+
+    @DisplayName("Should grow the pool and the admission permits to the recommendation when adjusting")
+    @Test
+    public void evaluate_whenAdjustingUnderLoad_ShouldGrow() {
+        // Given
+        given(pool.getMaximumPoolSize()).willReturn(5);
+        final PoolTuner underTest = tuner(true);
+        interval(400, Duration.ofMillis(100), Duration.ofMillis(25));
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        verify(pool).setMaximumPoolSize(7);
+        verify(pool).setMinimumIdle(7);
+        assertThat(admission.getPermits()).isEqualTo(7);
+        assertThat(underTest.report().decisions().getFirst().applied()).isTrue();
+    }
+
+    @DisplayName("Should shrink an idle pool one connection at a time, towards the minimum")
+    @Test
+    public void evaluate_whenIdle_ShouldShrinkByOne() {
+        // Given
+        given(pool.getMaximumPoolSize()).willReturn(5);
+        final PoolTuner underTest = tuner(true);
+        nanoTime.addAndGet(INTERVAL.toNanos());
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        assertThat(underTest.getRecommendedSize()).isEqualTo(2);
+        verify(pool).setMaximumPoolSize(4);
+        assertThat(admission.getPermits()).isEqualTo(4);
+    }
+
+    @DisplayName("Should go back to the previous size when growing did not raise throughput")
+    @Test
+    public void evaluate_whenGrowthDidNotHelp_ShouldRevert() {
+        // Given
+        given(pool.getMaximumPoolSize()).willReturn(5, 5, 10);
+        final PoolTuner underTest = tuner(true);
+        // 9 busy and 3 waiting: grows to twice the size
+        interval(400, Duration.ofMillis(225), Duration.ofMillis(75));
+        underTest.evaluate();
+        // Same throughput with twice the connections, callers still waiting
+        interval(400, Duration.ofMillis(250), Duration.ofMillis(50));
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        verify(pool).setMaximumPoolSize(10);
+        verify(pool).setMaximumPoolSize(5);
+        assertThat(admission.getPermits()).isEqualTo(5);
+        assertThat(underTest.getRecommendedSize()).isEqualTo(5);
+        assertThat(underTest.report().decisions().getFirst().reason()).contains("database is the bottleneck");
+    }
+
+    private PoolTuner tuner(boolean adjust) {
+        return new PoolTuner(meterRegistry, pool, admission, adjust, 2, 20, 0.75, nanoTime::get);
+    }
+
+    // One evaluation interval in which connections were acquired, waited for and held that long each
+    private void interval(int acquisitions, Duration held, Duration waited) {
+        for (int i = 0; i < acquisitions; i++) {
+            usage.record(held);
+            acquire.record(waited);
+        }
+        nanoTime.addAndGet(INTERVAL.toNanos());
+    }
+}
@@ -0,0 +1,173 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaPool;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Connection lagConnection;
+
+    @Mock
+    private Statement lagStatement;
+
+    @Mock
+    private ResultSet lagResult;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadReplica replica;
+
+    private ReadWriteRoutingDataSource underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        given(primary.getConnection()).willReturn(primaryConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new ReadReplica(replicaPool, Duration.ofSeconds(1), meterRegistry);
+        underTest = new ReadWriteRoutingDataSource(primary, replica, meterRegistry);
+    }
+
+    @DisplayName("Should send read-only work to the replica while it keeps up")
+    @Test
+    public void getConnection_whenReadOnlyAndReplicaKeepsUp_ShouldUseReplica() throws SQLException {
+        // Given
+        givenLag(0.2);
+        given(replicaPool.getConnection()).willReturn(replicaConnection);
+
+        // When
+        useConnection(true);
+
+        // Then
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+        assertThat(routed("replica")).isEqualTo(1);
+    }
+
+    @DisplayName("Should send work that is not read-only to the primary")
+    @Test
+    public void getConnection_whenNotReadOnly_ShouldUsePrimary() throws SQLException {
+        // Given
+        givenLag(0);
+
+        // When
+        useConnection(false);
+
+        // Then
+        verify(primaryConnection).createStatement();
+        assertThat(routed("replica")).isZero();
+    }
+
+    @DisplayName("Should send read-only work to the primary while the replica is too far behind")
+    @Test
+    public void getConnection_whenReplicaLags_ShouldUsePrimary() throws SQLException {
+        // Given
+        givenLag(5);
+
+        // When
+        useConnection(true);
+
+        // Then
+        verify(primaryConnection).createStatement();
+        assertThat(replica.getLagSeconds()).isEqualTo(5);
+        assertThat(routed("lagging")).isEqualTo(1);
+    }
+
+    @DisplayName("Should send read-only work to the primary until the replica lag is first measured")
+    @Test
+    public void getConnection_whenLagUnknown_ShouldUsePrimary() throws SQLException {
+        // When
+        useConnection(true);
+
+        // Then
+        verify(primaryConnection).createStatement();
+        assertThat(replica.isUsable()).isFalse();
+    }
+
+    @DisplayName("Should send read-only work to the primary while the thread is pinned to it")
+    @Test
+    public void getConnection_whenPinned_ShouldUsePrimary() throws SQLException {
+        // Given
+        givenLag(0);
+
+        // When
+        try (ReadWriteRoutingDataSource.Pin outer = ReadWriteRoutingDataSource.pinToPrimary()) {
+            try (ReadWriteRoutingDataSource.Pin inner = ReadWriteRoutingDataSource.pinToPrimary()) {
+                useConnection(true);
+            }
+            useConnection(true);
+        }
+
+        // Then
+        verify(primaryConnection, times(2)).createStatement();
+        assertThat(routed("pinned")).isEqualTo(2);
+    }
+
+    @DisplayName("Should fall back to the primary and stop using the replica when it cannot be reached")
+    @Test
+    public void getConnection_whenReplicaUnreachable_ShouldUsePrimary() throws SQLException {
+        // Given
+        givenLag(0);
+        given(replicaPool.getConnection()).willThrow(new SQLException("Connection refused"));
+
+        // When
+        useConnection(true);
+
+        // Then
+        verify(primaryConnection).createStatement();
+        assertThat(replica.isUsable()).isFalse();
+        assertThat(routed("unavailable")).isEqualTo(1);
+    }
+
+    private void givenLag(double seconds) throws SQLException {
+        given(replicaPool.getConnection()).willReturn(lagConnection);
+        given(lagConnection.createStatement()).willReturn(lagStatement);
+        given(lagStatement.executeQuery(ReadReplica.LAG_SQL)).willReturn(lagResult);
+        given(lagResult.next()).willReturn(true);
+        given(lagResult.getDouble(1)).willReturn(seconds);
+        replica.checkLag();
+    }
+
+    // As a transaction manager would: flags first, then the first statement
+    private void useConnection(boolean readOnly) throws SQLException {
+        try (Connection connection = underTest.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+        }
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("jdbc.connections.read-only").tag("route", route).counter().count();
+    }
+}
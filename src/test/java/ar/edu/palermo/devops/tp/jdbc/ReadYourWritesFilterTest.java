@@ -0,0 +1,60 @@
+package ar.edu.palermo.devops.tp.jdbc;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter underTest = new ReadYourWritesFilter("X-API-Key", Duration.ofMinutes(1), 100);
+
+    private final List<Boolean> pinned = new ArrayList<>();
+
+    @DisplayName("Should read from the primary after a write of the same client, and not before")
+    @Test
+    public void doFilter_whenClientWrote_ShouldPinItsReads() throws Exception {
+        // When
+        filter("GET", "client-1");
+        filter("PUT", "client-1");
+        filter("GET", "client-1");
+
+        // Then
+        assertThat(pinned).containsExactly(false, true, true);
+        assertThat(ReadWriteRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+
+    @DisplayName("Should leave the reads of other clients on the replica")
+    @Test
+    public void doFilter_whenAnotherClientWrote_ShouldNotPinReads() throws Exception {
+        // When
+        filter("POST", "client-1");
+        filter("GET", "client-2");
+        filter("GET", null);
+
+        // Then
+        assertThat(pinned).containsExactly(true, false, false);
+    }
+
+    private void filter(String method, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/events/1");
+        if (client != null) {
+            request.addHeader("X-API-Key", client);
+        }
+        underTest.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                pinned.add(ReadWriteRoutingDataSource.isPinnedToPrimary());
+            }
+        });
+    }
+}
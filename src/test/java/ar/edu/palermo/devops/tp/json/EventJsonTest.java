@@ -0,0 +1,99 @@
+package ar.edu.palermo.devops.tp.json;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EventJsonTest {
+
+    // Same settings as spring.jackson.* in the application properties
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .simpleDateFormat("yyyy-MM-dd'T'HH:mm")
+            .timeZone("America/Argentina/Buenos_Aires")
+            .build();
+
+    // What Jackson does without EventSerializer and EventDtoDeserializer
+    private final ObjectMapper beanMapper = objectMapper.copy()
+            .addMixIn(Event.class, BeanEvent.class)
+            .addMixIn(EventDto.class, BeanEventDto.class);
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanEvent {
+    }
+
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class BeanEventDto {
+    }
+
+    @DisplayName("Should write the same JSON as the bean serializer, nulls and dropped seconds included")
+    @Test
+    public void serialize_whenEvents_ShouldMatchBeanSerializer() throws Exception {
+        // Given
+        final List<Event> events = List.of(
+                Event.builder().id(1L).name("Iron \"Maiden\" Concert").description("Heavy metal, en español")
+                        .date(LocalDateTime.of(2030, 5, 1, 21, 7, 45)).version(3L).updatedAt(Instant.now()).build(),
+                Event.builder().id(2L).date(LocalDateTime.of(987, 1, 2, 3, 4)).build(),
+                Event.builder().id(3L).date(LocalDateTime.of(12345, 1, 2, 3, 4)).build());
+
+        // When
+        final String json = objectMapper.writeValueAsString(events);
+
+        // Then
+        assertThat(json).isEqualTo(beanMapper.writeValueAsString(events));
+        assertThat(json).contains("\"date\":\"2030-05-01T21:07\"", "\"date\":\"0987-01-02T03:04\"", "\"version\":null");
+        assertThat(json).doesNotContain("updatedAt");
+    }
+
+    @DisplayName("Should read the API date format directly and every other ISO form as before")
+    @Test
+    public void deserialize_whenDates_ShouldMatchBeanDeserializer() throws Exception {
+        // Given
+        final List<String> bodies = List.of(
+                "{\"id\":5,\"name\":\"Iron Maiden Concert\",\"description\":\"Heavy metal\",\"date\":\"2030-05-01T21:00\"}",
+                "{\"date\":\"2030-05-01T21:00:30\",\"name\":\"Metallica\",\"unknown\":{\"nested\":[1,2]}}",
+                "{\"id\":\"7\",\"name\":null,\"date\":null}",
+                "{\"date\":\"2032-02-29T23:59\"}");
+
+        for (String body : bodies) {
+            // When
+            final EventDto event = objectMapper.readValue(body, EventDto.class);
+
+            // Then
+            assertThat(event).isEqualTo(beanMapper.readValue(body, EventDto.class));
+        }
+        assertThat(objectMapper.readValue(bodies.getFirst(), EventDto.class))
+                .isEqualTo(new EventDto(5L, "Iron Maiden Concert", "Heavy metal", LocalDateTime.of(2030, 5, 1, 21, 0)));
+    }
+
+    @DisplayName("Should reject invalid dates and, when configured, unknown fields with Jackson's own errors")
+    @Test
+    public void deserialize_whenInvalid_ShouldFailAsBeanDeserializer() {
+        // Given
+        final ObjectMapper strict = objectMapper.copy().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        // When & Then
+        assertThatThrownBy(() -> objectMapper.readValue("{\"date\":\"2031-02-29T10:00\"}", EventDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"date\":\"2030-13-01T10:00\"}", EventDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> strict.readValue("{\"name\":\"Metallica\",\"unknown\":1}", EventDto.class))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package ar.edu.palermo.devops.tp.mapper;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    private final EventMapper underTest = new EventMapperImpl();
+
+    @DisplayName("Should map every field of the dto to a new event")
+    @Test
+    public void toEvent_whenDataIsOk_ShouldMapAllFields() {
+        // Given
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final EventDto dto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires", date);
+
+        // When
+        final Event result = underTest.toEvent(dto);
+
+        // Then
+        assertThat(result.getName()).isEqualTo("Iron Maiden Concert");
+        assertThat(result.getDescription()).isEqualTo("Iron Maiden Concert in Buenos Aires");
+        assertThat(result.getDate()).isEqualTo(date);
+    }
+
+    @DisplayName("Should leave the id of a new event to the database, whatever the dto carries")
+    @Test
+    public void toEvent_whenDtoHasId_ShouldNotMapIt() {
+        // Given
+        final EventDto dto = new EventDto(99L, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires",
+                LocalDateTime.now().plusDays(10));
+
+        // When
+        final Event result = underTest.toEvent(dto);
+
+        // Then
+        assertThat(result.getId()).isNull();
+        assertThat(result.getVersion()).isNull();
+        assertThat(result.getName()).isEqualTo("Iron Maiden Concert");
+    }
+
+    @DisplayName("Should return null when the dto is null")
+    @Test
+    public void toEvent_whenDtoIsNull_ShouldReturnNull() {
+        assertThat(underTest.toEvent(null)).isNull();
+    }
+
+    @DisplayName("Should skip null fields and keep the id when updating an existing event")
+    @Test
+    public void updateEvent_whenFieldsAreNull_ShouldKeepCurrentValues() {
+        // Given
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final Event existing = Event.builder()
+                .id(1L)
+                .name("Iron Maiden Concert")
+                .description("Iron Maiden Concert in Buenos Aires")
+                .date(date)
+                .build();
+        final EventDto dto = new EventDto(2L, "Iron Maiden Live", null, null);
+
+        // When
+        underTest.updateEvent(dto, existing);
+
+        // Then
+        assertThat(existing.getId()).isEqualTo(1L);
+        assertThat(existing.getName()).isEqualTo("Iron Maiden Live");
+        assertThat(existing.getDescription()).isEqualTo("Iron Maiden Concert in Buenos Aires");
+        assertThat(existing.getDate()).isEqualTo(date);
+    }
+}
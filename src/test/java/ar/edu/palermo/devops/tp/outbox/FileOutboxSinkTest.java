@@ -0,0 +1,51 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    private Path directory;
+
+    @DisplayName("Should append one JSON change per line across batches and reopenings")
+    @Test
+    public void publish_ShouldAppendJsonLines() throws Exception {
+        // Given
+        final Path file = directory.resolve("event-changes.jsonl");
+        final EventDto event = new EventDto(7L, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires",
+                LocalDateTime.of(2030, 10, 1, 20, 0));
+
+        // When
+        try (FileOutboxSink sink = new FileOutboxSink(file, objectMapper)) {
+            sink.publish(List.of(new EventChange(1, EventChange.Type.CREATED, 7L, 0L, event, Instant.now())));
+        }
+        try (FileOutboxSink sink = new FileOutboxSink(file, objectMapper)) {
+            sink.publish(List.of(new EventChange(2, EventChange.Type.DELETED, 7L, null, null, Instant.now())));
+        }
+
+        // Then
+        final List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), EventChange.class).event()).isEqualTo(event);
+        assertThat(objectMapper.readValue(lines.get(1), EventChange.class).type()).isEqualTo(EventChange.Type.DELETED);
+    }
+}
@@ -0,0 +1,121 @@
+package ar.edu.palermo.devops.tp.outbox;
+
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.OutboxMessage;
+import ar.edu.palermo.devops.tp.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<EventChange> published = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxSink sink = published::addAll;
+
+    private OutboxDispatcher underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = dispatcher(2);
+    }
+
+    @DisplayName("Should publish the outbox as changes numbered by outbox id and then delete it")
+    @Test
+    public void drain_whenOutboxHasMessages_ShouldPublishAndDeleteThem() {
+        // Given
+        given(outboxRepository.lockNextBatch(2)).willReturn(List.of(
+                message(51L, EventChange.Type.CREATED, "{\"id\":7,\"name\":\"Iron Maiden Concert\",\"date\":\"2030-10-01T20:00:00\"}"),
+                message(52L, EventChange.Type.DELETED, null)), List.of());
+
+        // When
+        underTest.drain();
+
+        // Then
+        assertThat(published).extracting(EventChange::sequence).containsExactly(51L, 52L);
+        assertThat(published.get(0).event().name()).isEqualTo("Iron Maiden Concert");
+        assertThat(published.get(0).event().date()).isEqualTo(LocalDateTime.of(2030, 10, 1, 20, 0));
+        assertThat(published.get(1).event()).isNull();
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(51L, 52L));
+        assertThat(meterRegistry.counter("events.outbox.published").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer("events.outbox.lag").count()).isEqualTo(2);
+    }
+
+    @DisplayName("Should keep draining while batches come back full")
+    @Test
+    public void drain_whenBatchIsFull_ShouldReadTheNextBatch() {
+        // Given
+        given(outboxRepository.lockNextBatch(2)).willReturn(
+                List.of(message(1L, EventChange.Type.DELETED, null), message(2L, EventChange.Type.DELETED, null)),
+                List.of(message(3L, EventChange.Type.DELETED, null)));
+
+        // When
+        underTest.drain();
+
+        // Then
+        assertThat(published).extracting(EventChange::sequence).containsExactly(1L, 2L, 3L);
+        verify(outboxRepository, times(2)).lockNextBatch(2);
+    }
+
+    @DisplayName("Should leave the batch in the outbox and roll back when the sink fails")
+    @Test
+    public void drain_whenSinkFails_ShouldNotDeleteTheBatch() {
+        // Given
+        sink = mock(OutboxSink.class);
+        willThrow(new IllegalStateException("sink is down")).given(sink).publish(any());
+        underTest = dispatcher(2);
+        given(outboxRepository.lockNextBatch(2)).willReturn(List.of(message(1L, EventChange.Type.DELETED, null)));
+
+        // When
+        underTest.drain();
+
+        // Then
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.counter("events.outbox.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("events.outbox.published").count()).isZero();
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize) {
+        return new OutboxDispatcher(outboxRepository, sink, transactionManager,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, batchSize);
+    }
+
+    private static OutboxMessage message(Long id, EventChange.Type type, String payload) {
+        return OutboxMessage.builder()
+                .id(id)
+                .type(type)
+                .eventId(7L)
+                .version(0L)
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LoadShedderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong acquired = new AtomicLong();
+
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    private LoadShedder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FunctionTimer.builder("jdbc.connections.admission.wait", this,
+                        test -> acquired.get(), test -> waitNanos.get(), TimeUnit.NANOSECONDS)
+                .register(meterRegistry);
+        underTest = new LoadShedder(meterRegistry, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    @DisplayName("Should shed more on every evaluation with a long connection wait and less once it is short again")
+    @Test
+    public void evaluate_whenConnectionWaitCrossesThreshold_ShouldAdjustShedShare() {
+        // Given
+        waitConnections(10, Duration.ofMillis(500));
+        underTest.evaluate();
+        waitConnections(10, Duration.ofMillis(500));
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        assertThat(underTest.getShed()).isCloseTo(0.2, within(1e-9));
+        assertThat(meterRegistry.get("events.load.shed").gauge().value()).isCloseTo(0.2, within(1e-9));
+
+        // Only the wait since the previous evaluation counts
+        waitConnections(10, Duration.ofMillis(10));
+        underTest.evaluate();
+        assertThat(underTest.getShed()).isCloseTo(0.1, within(1e-9));
+    }
+
+    @DisplayName("Should shed while the p99 latency of admitted requests is above its limit, never every request")
+    @Test
+    public void evaluate_whenLatencyIsHigh_ShouldShedUpToTheMaximum() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            underTest.record(Duration.ofSeconds(2).toNanos());
+        }
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            underTest.evaluate();
+        }
+
+        // Then
+        assertThat(underTest.getShed()).isCloseTo(0.9, within(1e-9));
+    }
+
+    @DisplayName("Should not shed when neither the connection wait nor the latency is above its limit")
+    @Test
+    public void shouldShed_whenNotOverloaded_ShouldAdmitEveryRequest() {
+        // Given
+        waitConnections(10, Duration.ofMillis(10));
+        underTest.record(Duration.ofMillis(20).toNanos());
+
+        // When
+        underTest.evaluate();
+
+        // Then
+        assertThat(underTest.getShed()).isZero();
+        assertThat(underTest.shouldShed()).isFalse();
+    }
+
+    private void waitConnections(int count, Duration eachWait) {
+        acquired.addAndGet(count);
+        waitNanos.addAndGet(eachWait.toNanos() * count);
+    }
+}
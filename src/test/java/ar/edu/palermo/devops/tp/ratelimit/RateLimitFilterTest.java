@@ -0,0 +1,108 @@
+package ar.edu.palermo.devops.tp.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitFilterTest {
+
+    @Mock
+    private LoadShedder loadShedder;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        // Two reads per second with a burst of two, one write per second
+        underTest = new RateLimitFilter("X-API-Key",
+                new RateLimiter(2, 2, 100, nanoTime::get),
+                new RateLimiter(1, 1, 100, nanoTime::get),
+                loadShedder, 1, new ObjectMapper(), meterRegistry);
+    }
+
+    @DisplayName("Should reject a client over its budget with 429 and the seconds until it may retry")
+    @Test
+    public void doFilter_whenClientIsOverBudget_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        final MockHttpServletResponse first = filter("GET", "client-1");
+        final MockHttpServletResponse second = filter("GET", "client-1");
+
+        // When
+        final MockHttpServletResponse third = filter("GET", "client-1");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(third.getContentAsString()).contains("Too many requests, retry after 1 seconds");
+        assertThat(meterRegistry.counter("events.ratelimit.requests", "budget", "read", "outcome", "limited").count())
+                .isEqualTo(1);
+    }
+
+    @DisplayName("Should keep separate budgets per client and for reads and writes, refilled over time")
+    @Test
+    public void doFilter_whenOtherClientOrWrite_ShouldUseItsOwnBudget() throws Exception {
+        // Given
+        filter("POST", "client-1");
+        assertThat(filter("POST", "client-1").getStatus()).isEqualTo(429);
+
+        // When
+        // Then
+        assertThat(filter("GET", "client-1").getStatus()).isEqualTo(200);
+        assertThat(filter("POST", "client-2").getStatus()).isEqualTo(200);
+        assertThat(filter("POST", null).getStatus()).isEqualTo(200);
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(filter("POST", "client-1").getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("Should reject with 503 and Retry-After while shedding load, without reaching the controller")
+    @Test
+    public void doFilter_whenSheddingLoad_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        given(loadShedder.shouldShed()).willReturn(true);
+
+        // When
+        final MockHttpServletResponse response = filter("GET", "client-1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verify(loadShedder, never()).record(anyLong());
+        assertThat(meterRegistry.counter("events.ratelimit.requests", "budget", "read", "outcome", "shed").count())
+                .isEqualTo(1);
+    }
+
+    private MockHttpServletResponse filter(String method, String apiKey) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/events");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        underTest.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
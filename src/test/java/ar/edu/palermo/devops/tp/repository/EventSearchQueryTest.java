@@ -0,0 +1,139 @@
+package ar.edu.palermo.devops.tp.repository;
+
+import ar.edu.palermo.devops.tp.AbstractContainer;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN on the search SQL against the schema created by the Flyway migrations
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EventSearchQueryTest extends AbstractContainer {
+
+    private static final String SEED_SQL = """
+            INSERT INTO event (id, name, description, date)
+            SELECT nextval('event_seq'),
+                   (ARRAY['Iron Maiden', 'Metallica', 'AC/DC', 'Soda Stereo'])[1 + g % 4] || ' ' || substr(md5(g::text), 1, 8),
+                   'Show ' || g || ' ' || (ARRAY['rock', 'jazz', 'tango', 'folk', 'cumbia'])[1 + g % 5] || ' in Luna Park',
+                   LOCALTIMESTAMP + g * interval '1 hour'
+              FROM generate_series(1, 20000) g""";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        // Enough rows for the planner to prefer the indexes over a sequential scan
+        entityManager.createNativeQuery("DELETE FROM event").executeUpdate();
+        entityManager.createNativeQuery(SEED_SQL).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE event").executeUpdate();
+    }
+
+    @DisplayName("Date range is answered from the date index")
+    @Test
+    public void explain_whenDateRange_ShouldUseDateIndex() {
+        // Given
+        final LocalDateTime from = LocalDateTime.now().plusDays(30);
+        final EventSearchCriteria criteria = new EventSearchCriteria(from, from.plusDays(2), null, null);
+
+        // When
+        final String plan = explain(EventSearchQuery.of(criteria, Sort.unsorted(), 51, 0));
+
+        // Then
+        assertThat(plan).contains("Index Scan using event_date_idx");
+    }
+
+    @DisplayName("Upcoming events sorted by date read the date index in order")
+    @Test
+    public void explain_whenUpcomingSortedByDate_ShouldUseDateIndex() {
+        // Given
+        final EventSearchCriteria criteria = new EventSearchCriteria(LocalDateTime.now(), null, null, null);
+
+        // When
+        final String plan = explain(EventSearchQuery.of(criteria, Sort.by("date"), 51, 0));
+
+        // Then
+        assertThat(plan).contains("Index Scan using event_date_idx").doesNotContain("Seq Scan");
+    }
+
+    @DisplayName("Case-insensitive name prefix is answered from the trigram index")
+    @Test
+    public void explain_whenNamePrefix_ShouldUseTrigramIndex() {
+        // Given
+        final EventSearchCriteria criteria = new EventSearchCriteria(null, null, "soda stereo e9", null);
+
+        // When
+        final String plan = explain(EventSearchQuery.of(criteria, Sort.unsorted(), 51, 0));
+
+        // Then
+        assertThat(plan).contains("Bitmap Index Scan on event_name_trgm_idx");
+    }
+
+    @DisplayName("Full-text query on the description is answered from the GIN index")
+    @Test
+    public void explain_whenText_ShouldUseFullTextIndex() {
+        // Given
+        final EventSearchCriteria criteria = new EventSearchCriteria(null, null, null, "show 1234");
+
+        // When
+        final String plan = explain(EventSearchQuery.of(criteria, Sort.by(Sort.Order.desc("name")), 51, 0));
+
+        // Then
+        assertThat(plan).contains("Bitmap Index Scan on event_description_fts_idx");
+    }
+
+    @DisplayName("Search returns only the events matching every filter")
+    @Test
+    public void search_whenEveryFilterIsSet_ShouldReturnMatchingEvents() {
+        // Given
+        final EventSearchCriteria criteria = new EventSearchCriteria(LocalDateTime.now(), null, "SODA", "tango");
+
+        // When
+        final EventSearchQuery search = EventSearchQuery.of(criteria, Sort.unsorted(), 10, 0);
+        final Query query = entityManager.createNativeQuery(search.sql(), Event.class);
+        search.parameters().forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        final List<Event> events = query.getResultList();
+
+        // Then
+        assertThat(events).hasSize(10)
+                .allSatisfy(event -> {
+                    assertThat(event.getName()).startsWith("Soda Stereo");
+                    assertThat(event.getDescription()).contains("tango");
+                })
+                .isSortedAccordingTo((a, b) -> a.getDate().compareTo(b.getDate()));
+    }
+
+    @DisplayName("LIKE wildcards in the name are matched literally")
+    @Test
+    public void of_whenNameHasWildcards_ShouldEscapeThem() {
+        // When
+        final EventSearchQuery search = EventSearchQuery.of(
+                new EventSearchCriteria(null, null, "50%_off", null), Sort.unsorted(), 10, 0);
+
+        // Then
+        assertThat(search.parameters()).containsEntry("namePrefix", "50\\%\\_off%");
+    }
+
+    private String explain(EventSearchQuery search) {
+        Query query = entityManager.createNativeQuery("EXPLAIN " + search.sql());
+        search.parameters().forEach(query::setParameter);
+        return ((List<?>) query.getResultList()).stream()
+                .map(Object::toString)
+                .collect(Collectors.joining("\n"));
+    }
+}
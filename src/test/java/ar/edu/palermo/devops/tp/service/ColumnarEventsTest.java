@@ -0,0 +1,82 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.model.Event;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ColumnarEventsTest {
+
+    @DisplayName("Should read back every event written, across batches and with missing dates")
+    @Test
+    public void read_whenWrittenInSeveralBatches_ShouldReturnTheSameEvents() throws IOException {
+        // Given
+        final List<Event> events = IntStream.range(0, ColumnarEvents.BATCH_SIZE * 2 + 7)
+                .mapToObj(i -> Event.builder()
+                        .id(i * 3L + 1)
+                        .name(i % 5 == 0 ? "Ñandú Fest " + i : "Concert " + i)
+                        .description("Show number " + i + " 🎸")
+                        .date(i % 4 == 0 ? null : LocalDateTime.of(2030, 10, 1, 20, 0).minusMinutes(i * 37L))
+                        .version((long) i % 3)
+                        .build())
+                .toList();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        final ColumnarEvents.Writer writer = new ColumnarEvents.Writer(out);
+        for (Event event : events) {
+            writer.write(event);
+        }
+        writer.finish();
+        final List<Event> read = new ArrayList<>();
+        ColumnarEvents.read(new ByteArrayInputStream(out.toByteArray()), read::add);
+
+        // Then
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(events);
+    }
+
+    @DisplayName("Should keep dates to the minute, as the JSON representation does")
+    @Test
+    public void read_whenDateHasSeconds_ShouldTruncateToTheMinute() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ColumnarEvents.Writer writer = new ColumnarEvents.Writer(out);
+        writer.write(Event.builder().id(1L).name("Kiss Concert").description("Kiss in Velez")
+                .date(LocalDateTime.of(1969, 12, 31, 23, 59, 30)).version(0L).build());
+        writer.finish();
+
+        // When
+        final List<Event> read = new ArrayList<>();
+        ColumnarEvents.read(new ByteArrayInputStream(out.toByteArray()), read::add);
+
+        // Then
+        assertThat(read).singleElement().extracting(Event::getDate).isEqualTo(LocalDateTime.of(1969, 12, 31, 23, 59));
+    }
+
+    @DisplayName("Should fail on a stream cut before the end mark")
+    @Test
+    public void read_whenStreamIsTruncated_ShouldFail() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ColumnarEvents.Writer writer = new ColumnarEvents.Writer(out);
+        writer.write(Event.builder().id(1L).name("Kiss Concert").description("Kiss in Velez").version(0L).build());
+        writer.finish();
+        final byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+
+        // When / Then
+        assertThatThrownBy(() -> ColumnarEvents.read(new ByteArrayInputStream(truncated), event -> { }))
+                .isInstanceOf(EOFException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.TestEventsProperties;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class EventChangeLogTest {
+
+    private EventChangeLog underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new EventChangeLog(TestEventsProperties.with(Map.of("changes.buffer-size", "6")));
+    }
+
+    @DisplayName("Should round the ring up to a power of two")
+    @Test
+    public void capacity_ShouldBeAPowerOfTwo() {
+        assertThat(underTest.capacity()).isEqualTo(8);
+    }
+
+    @DisplayName("Should number appended changes from 1 and read them back in order")
+    @Test
+    public void read_whenChangesWereAppended_ShouldReturnThemInSequence() {
+        // Given
+        underTest.append(EventChange.deleted(10L));
+        underTest.append(EventChange.deleted(11L));
+        underTest.append(EventChange.deleted(12L));
+
+        // When
+        final EventChangeLog.Read read = underTest.read(2, 10);
+
+        // Then
+        assertThat(read.changes()).extracting(EventChange::sequence).containsExactly(2L, 3L);
+        assertThat(read.changes()).extracting(EventChange::eventId).containsExactly(11L, 12L);
+        assertThat(read.next()).isEqualTo(4);
+        assertThat(read.missed()).isZero();
+        assertThat(underTest.nextSequence()).isEqualTo(4);
+    }
+
+    @DisplayName("Should report the changes a lapped reader missed and continue from the oldest kept one")
+    @Test
+    public void read_whenReaderWasLapped_ShouldReportMissedChanges() {
+        // Given
+        LongStream.rangeClosed(1, 20).forEach(id -> underTest.append(EventChange.deleted(id)));
+
+        // When
+        final EventChangeLog.Read read = underTest.read(1, 100);
+
+        // Then
+        assertThat(read.missed()).isEqualTo(12);
+        assertThat(read.changes()).extracting(EventChange::sequence).containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+        assertThat(read.next()).isEqualTo(21);
+    }
+
+    @DisplayName("Should append an import as a single change without event, whatever its size")
+    @Test
+    public void append_whenEventsWereImported_ShouldAppendOneChange() {
+        // Given
+        underTest.append(EventChange.deleted(10L));
+
+        // When
+        underTest.append(new EventsImported(100_000, List.of(new EventsImported.IdRange(1, 100_000))));
+
+        // Then
+        final EventChangeLog.Read read = underTest.read(1, 10);
+        assertThat(read.missed()).isZero();
+        assertThat(read.changes()).extracting(EventChange::type)
+                .containsExactly(EventChange.Type.DELETED, EventChange.Type.IMPORTED);
+        assertThat(read.changes().getLast().eventId()).isNull();
+        assertThat(read.changes().getLast().event()).isNull();
+    }
+
+    @DisplayName("Should wake up a waiting reader when the change it waits for is appended")
+    @Test
+    public void await_whenChangeIsAppended_ShouldReturn() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Given
+            final CompletableFuture<Void> waiting = CompletableFuture.runAsync(
+                    () -> underTest.await(1, 1, TimeUnit.MINUTES), executor);
+
+            // When
+            await().pollDelay(Duration.ofMillis(100)).until(() -> !waiting.isDone());
+            underTest.append(EventChange.deleted(1L));
+
+            // Then
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(underTest.read(1, 1).changes()).hasSize(1);
+        }
+    }
+
+    @DisplayName("Should give every concurrent writer its own sequence")
+    @Test
+    public void append_whenWritersRunConcurrently_ShouldNotLoseChanges() throws Exception {
+        // Given
+        final EventChangeLog log = new EventChangeLog(TestEventsProperties.defaults());
+
+        // When
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                writers.add(CompletableFuture.runAsync(
+                        () -> LongStream.range(0, 500).forEach(id -> log.append(EventChange.deleted(id))), executor));
+            }
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        final EventChangeLog.Read read = log.read(1, 4096);
+        assertThat(read.changes()).hasSize(4000);
+        assertThat(read.changes()).extracting(EventChange::sequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 4000).boxed().toList());
+    }
+}
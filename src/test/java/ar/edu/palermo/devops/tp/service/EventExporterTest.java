@@ -0,0 +1,104 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.AbstractContainer;
+import ar.edu.palermo.devops.tp.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exports from the schema created by the Flyway migrations; each test is rolled back
+@DataJpaTest
+@AutoConfigureJson
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EventExporterTest extends AbstractContainer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private EventExporter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM event");
+        jdbcTemplate.update("INSERT INTO event (id, name, description, date, version) VALUES "
+                + "(7, 'Kiss Concert', 'Kiss in Velez, \"live\"', NULL, 2), "
+                + "(3, 'Iron Maiden Concert', 'Iron Maiden in River', '2030-10-01 20:00:45', 0)");
+        underTest = new EventExporter(jdbcTemplate, transactionManager, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @DisplayName("Should copy the events as CSV with a header, ordered by id")
+    @Test
+    public void exportEvents_whenFormatIsCsv_ShouldCopyEveryEvent() {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        underTest.exportEvents(out, EventExporter.Format.CSV);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,name,description,date,version
+                3,Iron Maiden Concert,Iron Maiden in River,2030-10-01T20:00,0
+                7,Kiss Concert,"Kiss in Velez, ""live\"\"",,2
+                """);
+    }
+
+    @DisplayName("Should write one JSON event per line, as the API represents them")
+    @Test
+    public void exportEvents_whenFormatIsNdjson_ShouldWriteOneEventPerLine() {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        underTest.exportEvents(out, EventExporter.Format.NDJSON);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactly(
+                        "{\"id\":3,\"name\":\"Iron Maiden Concert\",\"description\":\"Iron Maiden in River\",\"date\":\"2030-10-01T20:00\",\"version\":0}",
+                        "{\"id\":7,\"name\":\"Kiss Concert\",\"description\":\"Kiss in Velez, \\\"live\\\"\",\"date\":null,\"version\":2}");
+    }
+
+    @DisplayName("Should write the columnar format so that it reads back to the same events")
+    @Test
+    public void exportEvents_whenFormatIsColumnar_ShouldReadBack() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        underTest.exportEvents(out, EventExporter.Format.COLUMNAR);
+
+        // Then
+        final List<Event> events = new ArrayList<>();
+        ColumnarEvents.read(new ByteArrayInputStream(out.toByteArray()), events::add);
+        assertThat(events).extracting(Event::getId).containsExactly(3L, 7L);
+        assertThat(events.get(0).getDate()).isEqualTo(LocalDateTime.of(2030, 10, 1, 20, 0));
+        assertThat(events.get(1).getDate()).isNull();
+        assertThat(events.get(1).getDescription()).isEqualTo("Kiss in Velez, \"live\"");
+        assertThat(events.get(1).getVersion()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,171 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.AbstractContainer;
+import ar.edu.palermo.devops.tp.configuration.EventsProperties;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.EventsImported;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.ImportResultDto;
+import ar.edu.palermo.devops.tp.outbox.OutboxWriter;
+import ar.edu.palermo.devops.tp.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// COPY against the schema created by the Flyway migrations; each test is rolled back
+@DataJpaTest
+@AutoConfigureJson
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableConfigurationProperties(EventsProperties.class)
+public class EventImporterTest extends AbstractContainer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventsProperties properties;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private EventImporter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM event");
+        jdbcTemplate.update("DELETE FROM event_outbox");
+        underTest = new EventImporter(jdbcTemplate, transactionManager, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                new SimpleMeterRegistry(), properties);
+    }
+
+    @DisplayName("Should copy the valid rows with ids from the sequence and report the rejected ones")
+    @Test
+    public void importEvents_whenSomeRowsAreInvalid_ShouldCopyTheValidOnes() {
+        // Given
+        final String body = IntStream.rangeClosed(1, 12_000)
+                .mapToObj(i -> i % 1000 == 0
+                        ? "{\"name\":\"X\",\"description\":\"Too short name\"}"
+                        : "{\"name\":\"Concert " + i + "\",\"description\":\"Show number " + i + ", \\\"live\\\"\",\"date\":\"2030-10-01T20:00:00\"}")
+                .collect(Collectors.joining("\n"));
+
+        // When
+        final ImportResultDto result = underTest.importEvents(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), EventImporter.Format.NDJSON);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(11_988);
+        assertThat(result.rejected()).isEqualTo(12);
+        assertThat(result.rejections()).first().extracting(ImportResultDto.Rejection::line).isEqualTo(1000L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM event", Long.class)).isEqualTo(11_988);
+        final Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT description, date, version FROM event WHERE name = 'Concert 7'");
+        assertThat(row.get("description")).isEqualTo("Show number 7, \"live\"");
+        assertThat(row.get("version")).isEqualTo(0L);
+        assertThat(((Timestamp) row.get("date")).toLocalDateTime()).isEqualTo(LocalDateTime.of(2030, 10, 1, 20, 0));
+        final EventsImported imported = importedEvent();
+        assertThat(imported.count()).isEqualTo(11_988);
+        assertThat(imported.ids().stream()
+                .flatMapToLong(range -> LongStream.rangeClosed(range.first(), range.last())).boxed())
+                .containsExactlyInAnyOrderElementsOf(jdbcTemplate.queryForList("SELECT id FROM event", Long.class));
+    }
+
+    @DisplayName("Should write a CREATED outbox row for each imported event, in the import's transaction")
+    @Test
+    public void importEvents_whenOutboxIsWritten_ShouldAddARowPerImportedEvent() throws Exception {
+        // Given
+        final Long existing = jdbcTemplate.queryForObject(
+                "INSERT INTO event (id, name, description, date) VALUES (nextval('event_seq'), 'Kiss Concert', "
+                        + "'Kiss in Velez', '2030-10-01 20:00') RETURNING id", Long.class);
+        final String body = "name,description,date\nMetallica Concert,Metallica in River,2030-11-01T21:30\n"
+                + "Iron Maiden Concert,Iron Maiden in Huracan,2030-12-01T22:00\n";
+        underTest.importEvents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), EventImporter.Format.CSV);
+
+        // When
+        new OutboxWriter(outboxRepository, objectMapper).append(importedEvent());
+
+        // Then
+        final List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT type, event_id, version, payload::text AS payload FROM event_outbox ORDER BY id");
+        assertThat(rows).hasSize(2).allSatisfy(row -> {
+            assertThat(row.get("type")).isEqualTo(EventChange.Type.CREATED.name());
+            assertThat(row.get("event_id")).isNotEqualTo(existing);
+            assertThat(row.get("version")).isEqualTo(0L);
+        });
+        final EventDto event = objectMapper.readValue((String) rows.getFirst().get("payload"), EventDto.class);
+        assertThat(event.id()).isEqualTo(rows.getFirst().get("event_id"));
+        assertThat(event.name()).isEqualTo("Metallica Concert");
+        assertThat(event.description()).isEqualTo("Metallica in River");
+        assertThat(event.date()).isEqualTo(LocalDateTime.of(2030, 11, 1, 21, 30));
+    }
+
+    @DisplayName("Should leave the ids handed out by the sequence to others untouched")
+    @Test
+    public void importEvents_whenSequenceIsShared_ShouldNotReuseIds() {
+        // Given
+        final Long taken = jdbcTemplate.queryForObject("SELECT nextval('event_seq')", Long.class);
+        final String body = "name,description,date\nKiss Concert,Kiss in Velez,2030-10-01T20:00\n";
+
+        // When
+        underTest.importEvents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), EventImporter.Format.CSV);
+
+        // Then
+        final List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM event", Long.class);
+        assertThat(ids).hasSize(1).allSatisfy(id -> assertThat(id).isGreaterThan(taken));
+    }
+
+    @DisplayName("Should take a single block of ids from the sequence for a small import")
+    @Test
+    public void importEvents_whenFewRows_ShouldReserveOneBlock() {
+        // Given
+        final Long before = jdbcTemplate.queryForObject("SELECT nextval('event_seq')", Long.class);
+        final String body = "name,description,date\nKiss Concert,Kiss in Velez,2030-10-01T20:00\n";
+
+        // When
+        underTest.importEvents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), EventImporter.Format.CSV);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('event_seq')", Long.class)).isEqualTo(before + 100);
+        assertThat(importedEvent().ids()).hasSize(1);
+    }
+
+    private EventsImported importedEvent() {
+        final ArgumentCaptor<EventsImported> imported = ArgumentCaptor.forClass(EventsImported.class);
+        verify(eventPublisher).publishEvent(imported.capture());
+        return imported.getValue();
+    }
+}
@@ -0,0 +1,139 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.CacheConfig;
+import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.mapper.EventMapper;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {EventService.class, CacheConfig.class})
+@ImportAutoConfiguration({CacheAutoConfiguration.class, ValidationAutoConfiguration.class})
+public class EventServiceCacheTest {
+
+    @MockitoBean
+    private EventRepository eventRepository;
+
+    @MockitoBean
+    private EventMapper eventMapper;
+
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private UpcomingEvents upcomingEvents;
+
+    @MockitoBean
+    private EventImporter eventImporter;
+
+    @MockitoBean
+    private EventExporter eventExporter;
+
+    @Autowired
+    private EventServiceInterface underTest;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Event event = Event.builder()
+            .id(1L)
+            .name("Iron Maiden Concert")
+            .description("Iron Maiden Concert in Buenos Aires")
+            .date(LocalDateTime.of(2030, 10, 1, 20, 0))
+            .build();
+
+    @BeforeEach
+    public void setup() {
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.EVENTS_CACHE)).clear();
+    }
+
+    @DisplayName("Should hit the repository only once when the same ID is read twice")
+    @Test
+    public void findById_whenCalledTwice_ShouldReadRepositoryOnce() {
+        // Given
+        given(eventRepository.findById(1L)).willReturn(Optional.of(event));
+
+        // When
+        final Event first = underTest.findById(1L);
+        final Event second = underTest.findById(1L);
+
+        // Then
+        verify(eventRepository, times(1)).findById(1L);
+        assertThat(first).isEqualTo(event);
+        assertThat(second).isEqualTo(event);
+    }
+
+    @DisplayName("Should not cache not found lookups")
+    @Test
+    public void findById_whenIdDoesNotExist_ShouldNotCacheMiss() {
+        // Given
+        given(eventRepository.findById(99L)).willReturn(Optional.empty());
+
+        // When
+        // Then
+        Assertions.assertThatThrownBy(() -> underTest.findById(99L)).isInstanceOf(EventNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> underTest.findById(99L)).isInstanceOf(EventNotFoundException.class);
+        verify(eventRepository, times(2)).findById(99L);
+    }
+
+    @DisplayName("Should refresh the cached entry when the event is updated")
+    @Test
+    public void update_whenEventIsCached_ShouldRefreshEntry() {
+        // Given
+        final EventDto dto = new EventDto(null, "Updated Concert", "Updated concert description", event.getDate());
+        final Event updated = Event.builder()
+                .id(1L)
+                .name(dto.name())
+                .description(dto.description())
+                .date(dto.date())
+                .build();
+        given(eventRepository.findById(1L)).willReturn(Optional.of(event));
+        given(eventRepository.updateAndReturn(1L, dto.name(), dto.description(), dto.date(), null))
+                .willReturn(Optional.of(updated));
+        underTest.findById(1L);
+
+        // When
+        underTest.update(1L, dto, null);
+        final Event result = underTest.findById(1L);
+
+        // Then
+        assertThat(result).isEqualTo(updated);
+        verify(eventRepository, times(1)).findById(1L);
+    }
+
+    @DisplayName("Should evict the cached entry when the event is deleted")
+    @Test
+    public void delete_whenEventIsCached_ShouldEvictEntry() {
+        // Given
+        given(eventRepository.findById(1L)).willReturn(Optional.of(event));
+        given(eventRepository.deleteAndCount(1L)).willReturn(1);
+        underTest.findById(1L);
+
+        // When
+        underTest.delete(1L);
+
+        // Then
+        assertThat(Objects.requireNonNull(cacheManager.getCache(CacheConfig.EVENTS_CACHE)).get(1L)).isNull();
+    }
+}
@@ -1,9 +1,18 @@
 package ar.edu.palermo.devops.tp.service;
 
 import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.exception.EventVersionMismatchException;
+import ar.edu.palermo.devops.tp.mapper.EventMapper;
 import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
 import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSummaryDto;
+import ar.edu.palermo.devops.tp.model.dto.EventSearchCriteria;
 import ar.edu.palermo.devops.tp.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,12 +21,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -30,7 +46,16 @@ public class EventServiceTest {
     private EventRepository eventRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private EventService underTest;
@@ -59,7 +84,7 @@ public class EventServiceTest {
                 .date(date)
                 .build();
 
-        given(modelMapper.map(dto, Event.class)).willReturn(mappedEvent);
+        given(eventMapper.toEvent(dto)).willReturn(mappedEvent);
         given(eventRepository.save(mappedEvent)).willReturn(eventSaved);
         ArgumentCaptor<Event> eventArgumentCaptor = ArgumentCaptor.forClass(Event.class);
 
@@ -67,7 +92,7 @@ public class EventServiceTest {
         final Event result = underTest.save(dto);
 
         // Then
-        verify(modelMapper).map(dto, Event.class);
+        verify(eventMapper).toEvent(dto);
         verify(eventRepository).save(eventArgumentCaptor.capture());
 
         final Event eventCaptured = eventArgumentCaptor.getValue();
@@ -76,6 +101,8 @@ public class EventServiceTest {
         Assertions.assertThat(eventCaptured.getDate()).isEqualTo(date);
         Assertions.assertThat(eventCaptured.getId()).isNull();
         assertThat(result).isEqualTo(eventSaved);
+        verify(eventPublisher).publishEvent(Mockito.<EventChange>argThat(change ->
+                change.type() == EventChange.Type.CREATED && change.eventId().equals(id)));
         assertThat(result.getId()).isEqualTo(id);
         assertThat(result.getName()).isEqualTo(name);
         assertThat(result.getDescription()).isEqualTo(description);
@@ -118,6 +145,98 @@ public class EventServiceTest {
                 .isEmpty();
     }
 
+    @DisplayName("Should return the first page and flag a next page when more events exist")
+    @Test
+    public void findPage_whenMoreEventsThanPageSize_ShouldReturnPageWithNext() {
+        // Given
+        final Event event1 = Event.builder().id(1L).name("Event 1").build();
+        final Event event2 = Event.builder().id(2L).name("Event 2").build();
+        final Event event3 = Event.builder().id(3L).name("Event 3").build();
+        given(eventRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .willReturn(List.of(event1, event2, event3));
+
+        // When
+        final Window<Event> result = underTest.findPage(null, 2);
+
+        // Then
+        verify(eventRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3));
+        assertThat(result.getContent()).containsExactly(event1, event2);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @DisplayName("Should return the last page without next when the cursor reaches the end")
+    @Test
+    public void findPage_whenCursorIsOnLastPage_ShouldReturnPageWithoutNext() {
+        // Given
+        final Event event3 = Event.builder().id(3L).name("Event 3").build();
+        given(eventRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .willReturn(List.of(event3));
+
+        // When
+        final Window<Event> result = underTest.findPage(2L, 2);
+
+        // Then
+        verify(eventRepository, times(1)).findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3));
+        assertThat(result.getContent()).containsExactly(event3);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @DisplayName("Should return a page of summaries and flag a next page when more events exist")
+    @Test
+    public void findPageSummaries_whenMoreEventsThanPageSize_ShouldReturnPageWithNext() {
+        // Given
+        final EventSummaryDto summary1 = new EventSummaryDto(1L, "Event 1", null);
+        final EventSummaryDto summary2 = new EventSummaryDto(2L, "Event 2", null);
+        final EventSummaryDto summary3 = new EventSummaryDto(3L, "Event 3", null);
+        given(eventRepository.findSummariesByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .willReturn(List.of(summary1, summary2, summary3));
+
+        // When
+        final Window<EventSummaryDto> result = underTest.findPageSummaries(null, 2);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(summary1, summary2);
+        assertThat(result.hasNext()).isTrue();
+        verify(eventRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @DisplayName("Should search from the page offset and flag a next page when more events match")
+    @Test
+    public void search_whenMoreEventsThanPageSize_ShouldReturnPageWithNext() {
+        // Given
+        final EventSearchCriteria criteria = new EventSearchCriteria(LocalDateTime.now(), null, "iron", null);
+        final Event event1 = Event.builder().id(1L).name("Iron Maiden Concert").build();
+        final Event event2 = Event.builder().id(2L).name("Iron Maiden Concert II").build();
+        final Event event3 = Event.builder().id(3L).name("Iron Maiden Concert III").build();
+        given(eventRepository.search(criteria, Sort.by("date"), 3, 4L))
+                .willReturn(List.of(event1, event2, event3));
+
+        // When
+        final Window<Event> result = underTest.search(criteria, Sort.by("date"), 2, 2);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(event1, event2);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @DisplayName("Should stream every event and detach it once consumed")
+    @Test
+    public void streamAll_whenRepositoryHasEvents_ShouldConsumeAndDetachEachEvent() {
+        // Given
+        final Event event1 = Event.builder().id(1L).name("Event 1").build();
+        final Event event2 = Event.builder().id(2L).name("Event 2").build();
+        given(eventRepository.streamAllByOrderByIdAsc()).willReturn(Stream.of(event1, event2));
+        final List<Event> consumed = new ArrayList<>();
+
+        // When
+        underTest.streamAll(consumed::add);
+
+        // Then
+        assertThat(consumed).containsExactly(event1, event2);
+        verify(entityManager).detach(event1);
+        verify(entityManager).detach(event2);
+    }
+
     @DisplayName("Should return event when ID exists")
     @Test
     public void findById_whenIdExists_ShouldReturnEvent() {
@@ -165,7 +284,7 @@ public class EventServiceTest {
                 .hasMessageContaining(ERROR_MSG);
     }
 
-    @DisplayName("Should update event when ID exists")
+    @DisplayName("Should update event with a single statement when ID exists")
     @Test
     public void update_whenIdExists_ShouldUpdateEvent() {
         // Given
@@ -175,13 +294,6 @@ public class EventServiceTest {
         final LocalDateTime date = LocalDateTime.of(2025, 10, 1, 20, 0);
         final EventDto dto = new EventDto(null, name, description, date);
 
-        final Event eventToUpdate = Event.builder()
-                .id(id)
-                .name("Old Name")
-                .description("Old Description")
-                .date(LocalDateTime.of(2024, 10, 1, 20, 0))
-                .build();
-
         final Event updatedEvent = Event.builder()
                 .id(id)
                 .name(name)
@@ -189,42 +301,18 @@ public class EventServiceTest {
                 .date(date)
                 .build();
 
-        given(eventRepository.findById(id)).willReturn(Optional.of(eventToUpdate));
-        doAnswer(invocation -> {
-            EventDto toMap = invocation.getArgument(0);
-            Event event = invocation.getArgument(1);
-            event.setName(toMap.name());
-            event.setDescription(toMap.description());
-            event.setDate(toMap.date());
-            return null;
-        }).when(modelMapper).map(dto, eventToUpdate);
-
-
-        given(eventRepository.save(Mockito.any(Event.class))).willReturn(updatedEvent);
+        given(eventRepository.updateAndReturn(id, name, description, date, null)).willReturn(Optional.of(updatedEvent));
 
         // When
-        final Event result = underTest.update(id, dto);
+        final Event result = underTest.update(id, dto, null);
 
         // Then
         ArgumentCaptor<Long> idArgumentCaptor = ArgumentCaptor.forClass(Long.class);
-        verify(eventRepository).findById(idArgumentCaptor.capture());
+        verify(eventRepository).updateAndReturn(idArgumentCaptor.capture(), Mockito.eq(name), Mockito.eq(description), Mockito.eq(date), Mockito.isNull());
         Assertions.assertThat(idArgumentCaptor.getValue()).isEqualTo(id);
-
-        ArgumentCaptor<EventDto> eventDtoArgumentCaptor = ArgumentCaptor.forClass(EventDto.class);
-        verify(modelMapper).map(eventDtoArgumentCaptor.capture(), Mockito.any(Event.class));
-        final EventDto eventDtoCaptured = eventDtoArgumentCaptor.getValue();
-        Assertions.assertThat(eventDtoCaptured).isEqualTo(dto);
-        Assertions.assertThat(eventDtoCaptured.name()).isEqualTo(name);
-        Assertions.assertThat(eventDtoCaptured.description()).isEqualTo(description);
-        Assertions.assertThat(eventDtoCaptured.date()).isEqualTo(date);
-
-        ArgumentCaptor<Event> eventArgumentCaptor = ArgumentCaptor.forClass(Event.class);
-        verify(eventRepository).save(eventArgumentCaptor.capture());
-        final Event eventCaptured = eventArgumentCaptor.getValue();
-        Assertions.assertThat(eventCaptured.getId()).isEqualTo(id);
-        Assertions.assertThat(eventCaptured.getName()).isEqualTo(name);
-        Assertions.assertThat(eventCaptured.getDescription()).isEqualTo(description);
-        Assertions.assertThat(eventCaptured.getDate()).isEqualTo(date);
+        verify(eventRepository, never()).findById(any());
+        verify(eventRepository, never()).save(any(Event.class));
+        verifyNoInteractions(eventMapper);
         Assertions.assertThat(result).isEqualTo(updatedEvent);
     }
 
@@ -236,39 +324,112 @@ public class EventServiceTest {
         final String ERROR_MSG = String.format("Event id %d not found.", nonExistentEventId);
         final EventDto dto = new EventDto(null, "Name", "Description", LocalDateTime.now());
 
-        given(eventRepository.findById(nonExistentEventId)).willReturn(Optional.empty());
+        given(eventRepository.updateAndReturn(nonExistentEventId, dto.name(), dto.description(), dto.date(), null))
+                .willReturn(Optional.empty());
 
         // When
         // Then
-        Assertions.assertThatThrownBy(() -> underTest.update(nonExistentEventId, dto))
+        Assertions.assertThatThrownBy(() -> underTest.update(nonExistentEventId, dto, null))
                 .isInstanceOf(EventNotFoundException.class)
                 .hasMessageContaining(ERROR_MSG);
 
-        verify(eventRepository).findById(nonExistentEventId);
-        verify(modelMapper, never()).map(any(EventDto.class), any(Event.class));
+        verify(eventRepository).updateAndReturn(nonExistentEventId, dto.name(), dto.description(), dto.date(), null);
         verify(eventRepository, never()).save(any(Event.class));
     }
 
-    @DisplayName("Should delete event when ID exists")
+    @DisplayName("Should patch only the given fields and leave the flush to dirty checking")
+    @Test
+    public void patch_whenIdExists_ShouldChangeOnlyGivenFields() {
+        // Given
+        final Long id = 1L;
+        final String description = "Iron Maiden Concert in Buenos Aires";
+        final LocalDateTime date = LocalDateTime.now().plusDays(30);
+        final Event existing = Event.builder()
+                .id(id)
+                .name("Iron Maiden Concert")
+                .description(description)
+                .date(date)
+                .build();
+        final EventDto changes = new EventDto(null, "Iron Maiden Live", null, null);
+
+        given(eventRepository.findById(id)).willReturn(Optional.of(existing));
+
+        // When
+        final Event result = underTest.patch(id, changes, Set.of("name"), null);
+
+        // Then
+        Assertions.assertThat(result.getName()).isEqualTo("Iron Maiden Live");
+        Assertions.assertThat(result.getDescription()).isEqualTo(description);
+        Assertions.assertThat(result.getDate()).isEqualTo(date);
+        verify(eventRepository, never()).save(any(Event.class));
+        verifyNoInteractions(eventMapper);
+    }
+
+    @DisplayName("Should throw exception when patching an ID that does not exist")
+    @Test
+    public void patch_whenIdDoesNotExist_ShouldThrowException() {
+        // Given
+        final Long nonExistentEventId = 1L;
+        given(eventRepository.findById(nonExistentEventId)).willReturn(Optional.empty());
+
+        // When
+        // Then
+        Assertions.assertThatThrownBy(() -> underTest.patch(nonExistentEventId,
+                        new EventDto(null, "Name", null, null), Set.of("name"), null))
+                .isInstanceOf(EventNotFoundException.class)
+                .hasMessageContaining(String.format("Event id %d not found.", nonExistentEventId));
+    }
+
+    @DisplayName("Should throw EventVersionMismatchException when updating an event that changed since the expected version")
+    @Test
+    public void update_whenVersionIsStale_ShouldThrowVersionMismatch() {
+        // Given
+        final EventDto dto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires",
+                LocalDateTime.now().plusDays(10));
+        given(eventRepository.updateAndReturn(1L, dto.name(), dto.description(), dto.date(), 3L))
+                .willReturn(Optional.empty());
+        given(eventRepository.existsById(1L)).willReturn(true);
+
+        // When
+        // Then
+        Assertions.assertThatThrownBy(() -> underTest.update(1L, dto, 3L))
+                .isInstanceOf(EventVersionMismatchException.class)
+                .hasMessage("Event id 1 has been modified.");
+    }
+
+    @DisplayName("Should not apply the patch when the event is no longer at the expected version")
+    @Test
+    public void patch_whenVersionIsStale_ShouldThrowVersionMismatch() {
+        // Given
+        final Event event = Event.builder().id(1L).name("Iron Maiden Concert").version(4L).build();
+        given(eventRepository.findById(1L)).willReturn(Optional.of(event));
+
+        // When
+        // Then
+        Assertions.assertThatThrownBy(() -> underTest.patch(1L, new EventDto(null, "Metallica Concert", null, null),
+                        Set.of("name"), 3L))
+                .isInstanceOf(EventVersionMismatchException.class);
+        assertThat(event.getName()).isEqualTo("Iron Maiden Concert");
+    }
+
+    @DisplayName("Should delete event with a single statement when ID exists")
     @Test
     public void delete_whenIdExists_ShouldDeleteEvent() {
         // Given
         final Long id = 1L;
-        final Event eventToDelete = Event.builder().id(id).name("Event Name").description("Event Description").build();
-        given(eventRepository.findById(id)).willReturn(Optional.of(eventToDelete));
+        given(eventRepository.deleteAndCount(id)).willReturn(1);
 
         // When
         underTest.delete(id);
 
         // Then
         ArgumentCaptor<Long> idArgumentCaptor = ArgumentCaptor.forClass(Long.class);
-        verify(eventRepository, times(1)).findById(idArgumentCaptor.capture());
+        verify(eventRepository, times(1)).deleteAndCount(idArgumentCaptor.capture());
         Assertions.assertThat(idArgumentCaptor.getValue()).isEqualTo(id);
-
-        ArgumentCaptor<Event> eventArgumentCaptor = ArgumentCaptor.forClass(Event.class);
-        verify(eventRepository).delete(eventArgumentCaptor.capture());
-        final Event eventCaptured = eventArgumentCaptor.getValue();
-        Assertions.assertThat(eventCaptured).isEqualTo(eventToDelete);
+        verify(eventRepository, never()).findById(any());
+        verify(eventRepository, never()).delete(any(Event.class));
+        verify(eventPublisher).publishEvent(Mockito.<EventChange>argThat(change ->
+                change.type() == EventChange.Type.DELETED && change.eventId().equals(id) && change.event() == null));
     }
 
     @DisplayName("Should throw exception when ID does not exist")
@@ -277,14 +438,87 @@ public class EventServiceTest {
         // Given
         final Long nonExistentEventId = 1L;
         final String ERROR_MSG = String.format("Event id %d not found.", nonExistentEventId);
-        given(eventRepository.findById(nonExistentEventId)).willReturn(Optional.empty());
+        given(eventRepository.deleteAndCount(nonExistentEventId)).willReturn(0);
 
         // When  Then
         Assertions.assertThatThrownBy(() -> underTest.delete(nonExistentEventId))
                 .isInstanceOf(EventNotFoundException.class)
                 .hasMessageContaining(ERROR_MSG);
 
-        verify(eventRepository).findById(nonExistentEventId);
-        verify(eventRepository, never()).delete(any(Event.class));
+        verify(eventRepository).deleteAndCount(nonExistentEventId);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @DisplayName("Should save valid events in one batch and report invalid ones per item")
+    @Test
+    public void saveAll_whenSomeEventsAreInvalid_ShouldSaveValidAndReportInvalid() {
+        // Given
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final EventDto valid = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires", date);
+        final EventDto invalid = new EventDto(null, "AC", "AC/DC concert in Luna Park", date);
+        final Event mappedEvent = Event.builder().name(valid.name()).description(valid.description()).date(date).build();
+        given(eventMapper.toEvent(valid)).willReturn(mappedEvent);
+        given(eventRepository.saveAll(Mockito.<Iterable<Event>>any())).willAnswer(invocation -> {
+            mappedEvent.setId(10L);
+            return List.of(mappedEvent);
+        });
+
+        // When
+        final BatchResultDto result = underTest.saveAll(List.of(invalid, valid));
+
+        // Then
+        verify(eventMapper, never()).toEvent(invalid);
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).status()).isEqualTo(BatchResultDto.Status.INVALID);
+        assertThat(result.items().get(0).errors()).containsEntry("name", "Name must be between 3 and 50 characters");
+        assertThat(result.items().get(1).status()).isEqualTo(BatchResultDto.Status.CREATED);
+        assertThat(result.items().get(1).id()).isEqualTo(10L);
+    }
+
+    @DisplayName("Should update existing events and report missing ids and ids not provided")
+    @Test
+    public void updateAll_whenSomeEventsDoNotExist_ShouldUpdateExistingAndReportOthers() {
+        // Given
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final EventDto existingDto = new EventDto(1L, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires", date);
+        final EventDto missingDto = new EventDto(2L, "Metallica Concert", "Metallica Concert in Buenos Aires", date);
+        final EventDto withoutIdDto = new EventDto(null, "Slayer Concert", "Slayer Concert in Buenos Aires", date);
+        final Event existing = Event.builder().id(1L).name("Old Name").description("Old Description").build();
+        given(eventRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(existing));
+
+        // When
+        final BatchResultDto result = underTest.updateAll(List.of(existingDto, missingDto, withoutIdDto));
+
+        // Then
+        verify(eventMapper).updateEvent(existingDto, existing);
+        verify(eventRepository, never()).findById(any());
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items().get(0).status()).isEqualTo(BatchResultDto.Status.UPDATED);
+        assertThat(result.items().get(1).status()).isEqualTo(BatchResultDto.Status.NOT_FOUND);
+        assertThat(result.items().get(1).errors()).containsEntry("id", "Event id 2 not found.");
+        assertThat(result.items().get(2).status()).isEqualTo(BatchResultDto.Status.INVALID);
+        assertThat(result.items().get(2).errors()).containsEntry("id", "Id is required");
+    }
+
+    @DisplayName("Should delete existing events in one batch and report missing ids")
+    @Test
+    public void deleteAll_whenSomeEventsDoNotExist_ShouldDeleteExistingAndReportMissing() {
+        // Given
+        final Event existing = Event.builder().id(1L).name("Event Name").description("Event Description").build();
+        given(eventRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(existing));
+
+        // When
+        final BatchResultDto result = underTest.deleteAll(List.of(1L, 2L));
+
+        // Then
+        ArgumentCaptor<Iterable<Event>> deletedCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(eventRepository).deleteAll(deletedCaptor.capture());
+        assertThat(deletedCaptor.getValue()).containsExactly(existing);
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.items().get(0).status()).isEqualTo(BatchResultDto.Status.DELETED);
+        assertThat(result.items().get(1).status()).isEqualTo(BatchResultDto.Status.NOT_FOUND);
     }
 }
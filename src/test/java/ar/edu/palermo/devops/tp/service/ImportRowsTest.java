@@ -0,0 +1,95 @@
+package ar.edu.palermo.devops.tp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ImportRowsTest {
+
+    @DisplayName("Should read NDJSON line by line, skipping blank lines and reporting malformed ones")
+    @Test
+    public void ndjson_whenLinesAreMixed_ShouldReadEveryRow() throws IOException {
+        // Given
+        final String body = """
+                {"name":"Iron Maiden Concert","description":"Iron Maiden in River","date":"2030-10-01T20:00:00"}
+
+                {"name":
+                {"name":"Metallica Concert","description":"Metallica in La Plata"}
+                """;
+
+        // When
+        final List<ImportRows.Row> rows = readAll(ImportRows.ndjson(new StringReader(body), new ObjectMapper().registerModule(new JavaTimeModule())));
+
+        // Then
+        assertThat(rows).extracting(ImportRows.Row::line).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).event().date()).isEqualTo(LocalDateTime.of(2030, 10, 1, 20, 0));
+        assertThat(rows.get(1).event()).isNull();
+        assertThat(rows.get(1).errors()).containsKey("line");
+        assertThat(rows.get(2).event().name()).isEqualTo("Metallica Concert");
+    }
+
+    @DisplayName("Should read quoted CSV fields with commas, quotes and line breaks, in the columns named by the header")
+    @Test
+    public void csv_whenFieldsAreQuoted_ShouldReadThemWhole() throws IOException {
+        // Given
+        final String body = "date,name,description\r\n"
+                + "2030-10-01T20:00,\"Iron Maiden, live\",\"The \"\"Legacy\"\" tour\nin River\"\r\n"
+                + "tomorrow,Metallica Concert,Metallica in La Plata\n";
+
+        // When
+        final List<ImportRows.Row> rows = readAll(ImportRows.csv(new StringReader(body)));
+
+        // Then
+        assertThat(rows).extracting(ImportRows.Row::line).containsExactly(2L, 4L);
+        assertThat(rows.get(0).event().name()).isEqualTo("Iron Maiden, live");
+        assertThat(rows.get(0).event().description()).isEqualTo("The \"Legacy\" tour\nin River");
+        assertThat(rows.get(0).event().date()).isEqualTo(LocalDateTime.of(2030, 10, 1, 20, 0));
+        assertThat(rows.get(1).errors()).containsKey("date");
+    }
+
+    @DisplayName("Should reject rows longer than the limit without keeping them in memory")
+    @Test
+    public void csv_whenRowIsTooLong_ShouldRejectIt() throws IOException {
+        // Given
+        final String body = "name,description,date\n" + ",".repeat(ImportRows.MAX_LINE_LENGTH + 1) + "\nKiss Concert,Kiss in Velez,\n";
+
+        // When
+        final List<ImportRows.Row> rows = readAll(ImportRows.csv(new StringReader(body)));
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).errors()).containsKey("line");
+        assertThat(rows.get(1).event().name()).isEqualTo("Kiss Concert");
+    }
+
+    @DisplayName("Should refuse a CSV body without the name, description and date columns")
+    @Test
+    public void csv_whenHeaderIsMissing_ShouldThrow() {
+        // Given
+        final String body = "Iron Maiden Concert,Iron Maiden in River,2030-10-01T20:00\n";
+
+        // When
+        // Then
+        assertThatThrownBy(() -> ImportRows.csv(new StringReader(body)))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static List<ImportRows.Row> readAll(ImportRows rows) throws IOException {
+        final List<ImportRows.Row> all = new ArrayList<>();
+        for (ImportRows.Row row = rows.next(); row != null; row = rows.next()) {
+            all.add(row);
+        }
+        return all;
+    }
+}
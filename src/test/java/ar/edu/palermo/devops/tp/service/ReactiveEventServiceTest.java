@@ -0,0 +1,190 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.cache.ReactiveCacheInvalidationPublisher;
+import ar.edu.palermo.devops.tp.exception.EventNotFoundException;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.dto.BatchResultDto;
+import ar.edu.palermo.devops.tp.model.dto.EventDto;
+import ar.edu.palermo.devops.tp.repository.ReactiveEventRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEventServiceTest {
+
+    @Mock
+    private ReactiveEventRepository eventRepository;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    @Mock
+    private ReactiveCacheInvalidationPublisher cacheInvalidation;
+
+    private ReactiveEventService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ReactiveEventService(eventRepository, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), null);
+    }
+
+    @DisplayName("Should return event when ID exists")
+    @Test
+    public void findById_whenIdExists_ShouldReturnEvent() {
+        // Given
+        final Event event = Event.builder().id(1L).name("Iron Maiden Concert").build();
+        given(eventRepository.findById(1L)).willReturn(Mono.just(event));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.findById(1L))
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @DisplayName("Should signal EventNotFoundException when ID does not exist")
+    @Test
+    public void findById_whenIdDoesNotExist_ShouldError() {
+        // Given
+        given(eventRepository.findById(1L)).willReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(underTest.findById(1L))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(EventNotFoundException.class)
+                        .hasMessage("Event id 1 not found."))
+                .verify();
+    }
+
+    @DisplayName("Should return the first page and flag a next page when more events exist")
+    @Test
+    public void findPage_whenMoreEventsExist_ShouldFlagNextPage() {
+        // Given
+        given(eventRepository.findByIdGreaterThanOrderByIdAsc(0L, 3)).willReturn(Flux.just(
+                Event.builder().id(1L).build(),
+                Event.builder().id(2L).build(),
+                Event.builder().id(3L).build()));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.findPage(null, 2))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(Event::getId).containsExactly(1L, 2L);
+                    assertThat(page.hasNext()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("Should update event with a single statement when ID exists")
+    @Test
+    public void update_whenIdExists_ShouldReturnUpdatedEvent() {
+        // Given
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final EventDto dto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires", date);
+        final Event updated = Event.builder().id(1L).name(dto.name()).description(dto.description()).date(date).build();
+        given(eventRepository.updateAndReturn(1L, dto.name(), dto.description(), date)).willReturn(Mono.just(updated));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.update(1L, dto))
+                .expectNext(updated)
+                .verifyComplete();
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @DisplayName("Should read the event instead of writing when the patch has no fields")
+    @Test
+    public void patch_whenNoFields_ShouldNotWrite() {
+        // Given
+        final Event event = Event.builder().id(1L).name("Iron Maiden Concert").build();
+        given(eventRepository.findById(1L)).willReturn(Mono.just(event));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.patch(1L, new EventDto(null, null, null, null), Set.of()))
+                .expectNext(event)
+                .verifyComplete();
+        verify(eventRepository, never()).patchAndReturn(any(), any(), any());
+    }
+
+    @DisplayName("Should signal EventNotFoundException when deleting an ID that does not exist")
+    @Test
+    public void delete_whenIdDoesNotExist_ShouldError() {
+        // Given
+        given(eventRepository.deleteAndCount(1L)).willReturn(Mono.just(0L));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.delete(1L))
+                .expectError(EventNotFoundException.class)
+                .verify();
+    }
+
+    @DisplayName("Should notify the updated event on the cache bus from the update's transaction")
+    @Test
+    public void update_whenCacheBusIsEnabled_ShouldNotifyInTheTransaction() {
+        // Given
+        final ReactiveEventService notifying = new ReactiveEventService(eventRepository, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), cacheInvalidation);
+        final ReactiveTransaction transaction = mock(ReactiveTransaction.class);
+        given(transactionManager.getReactiveTransaction(any())).willReturn(Mono.just(transaction));
+        given(transactionManager.commit(transaction)).willReturn(Mono.empty());
+        final LocalDateTime date = LocalDateTime.now().plusDays(10);
+        final EventDto dto = new EventDto(null, "Iron Maiden Concert", "Iron Maiden Concert in Buenos Aires", date);
+        final Event updated = Event.builder().id(1L).name(dto.name()).description(dto.description()).date(date).build();
+        given(eventRepository.updateAndReturn(1L, dto.name(), dto.description(), date)).willReturn(Mono.just(updated));
+        given(cacheInvalidation.publish(List.of(1L))).willReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(notifying.update(1L, dto))
+                .expectNext(updated)
+                .verifyComplete();
+        verify(cacheInvalidation).publish(List.of(1L));
+        verify(transactionManager).commit(transaction);
+    }
+
+    @DisplayName("Should notify the ids a batch deleted with a single message, leaving out those not found")
+    @Test
+    public void deleteAll_whenCacheBusIsEnabled_ShouldNotifyDeletedIdsOnce() {
+        // Given
+        final ReactiveEventService notifying = new ReactiveEventService(eventRepository, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), cacheInvalidation);
+        final ReactiveTransaction transaction = mock(ReactiveTransaction.class);
+        given(transactionManager.getReactiveTransaction(any())).willReturn(Mono.just(transaction));
+        given(transactionManager.commit(transaction)).willReturn(Mono.empty());
+        given(eventRepository.deleteAndCount(1L)).willReturn(Mono.just(1L));
+        given(eventRepository.deleteAndCount(2L)).willReturn(Mono.just(0L));
+        given(eventRepository.deleteAndCount(3L)).willReturn(Mono.just(1L));
+        given(cacheInvalidation.publish(List.of(1L, 3L))).willReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(notifying.deleteAll(List.of(1L, 2L, 3L)))
+                .assertNext(result -> assertThat(result.items()).extracting(BatchResultDto.Item::status)
+                        .containsExactly(BatchResultDto.Status.DELETED, BatchResultDto.Status.NOT_FOUND,
+                                BatchResultDto.Status.DELETED))
+                .verifyComplete();
+        verify(cacheInvalidation, times(1)).publish(any());
+    }
+}
@@ -0,0 +1,189 @@
+package ar.edu.palermo.devops.tp.service;
+
+import ar.edu.palermo.devops.tp.configuration.TestEventsProperties;
+import ar.edu.palermo.devops.tp.model.Event;
+import ar.edu.palermo.devops.tp.model.EventChange;
+import ar.edu.palermo.devops.tp.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class UpcomingEventsTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final MutableClock clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+
+    private UpcomingEvents underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new UpcomingEvents(eventRepository, TestEventsProperties.defaults(), clock);
+    }
+
+    @DisplayName("Should load the upcoming events at startup and page them by date and id")
+    @Test
+    public void page_whenLoadedFromDatabase_ShouldReturnEventsByDateAndId() {
+        // Given
+        given(eventRepository.findUpcoming(any())).willReturn(List.of(
+                event(3L, NOW.plusDays(2), 0L),
+                event(2L, NOW.plusDays(1), 0L),
+                event(1L, NOW.plusDays(2), 0L)));
+        underTest.afterPropertiesSet();
+
+        // When
+        final Window<Event> first = underTest.page(null, null, 2);
+        final Event last = first.getContent().getLast();
+        final Window<Event> second = underTest.page(last.getDate(), last.getId(), 2);
+
+        // Then
+        assertThat(first.getContent()).extracting(Event::getId).containsExactly(2L, 1L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Event::getId).containsExactly(3L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @DisplayName("Should move an updated event and drop one that moves to the past or is deleted")
+    @Test
+    public void on_whenEventsChange_ShouldKeepTheViewUpToDate() {
+        // Given
+        underTest.on(change(EventChange.Type.CREATED, 1L, NOW.plusDays(1), 0L));
+        underTest.on(change(EventChange.Type.CREATED, 2L, NOW.plusDays(2), 0L));
+        underTest.on(change(EventChange.Type.CREATED, 3L, NOW.plusDays(3), 0L));
+
+        // When
+        underTest.on(change(EventChange.Type.UPDATED, 1L, NOW.plusDays(4), 1L));
+        underTest.on(change(EventChange.Type.UPDATED, 2L, NOW.minusDays(1), 1L));
+        underTest.on(EventChange.deleted(3L));
+
+        // Then
+        assertThat(underTest.page(null, null, 10).getContent()).extracting(Event::getId).containsExactly(1L);
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @DisplayName("Should ignore changes applied after a newer version or a deletion of the same event")
+    @Test
+    public void on_whenChangeIsStale_ShouldIgnoreIt() {
+        // Given
+        underTest.on(change(EventChange.Type.UPDATED, 1L, NOW.plusDays(5), 2L));
+        underTest.on(EventChange.deleted(2L));
+
+        // When
+        underTest.on(change(EventChange.Type.UPDATED, 1L, NOW.plusDays(1), 1L));
+        underTest.on(change(EventChange.Type.UPDATED, 2L, NOW.plusDays(1), 1L));
+
+        // Then
+        assertThat(underTest.page(null, null, 10).getContent())
+                .extracting(Event::getId, Event::getDate)
+                .containsExactly(tuple(1L, NOW.plusDays(5)));
+    }
+
+    @DisplayName("Should skip started events when reading and evict them on the next sweep")
+    @Test
+    public void evictExpired_whenEventsHaveStarted_ShouldRemoveThem() {
+        // Given
+        underTest.on(change(EventChange.Type.CREATED, 1L, NOW.plusHours(1), 0L));
+        underTest.on(change(EventChange.Type.CREATED, 2L, NOW.plusHours(3), 0L));
+        clock.advance(Duration.ofHours(2));
+        assertThat(underTest.page(null, null, 10).getContent()).extracting(Event::getId).containsExactly(2L);
+        assertThat(underTest.size()).isEqualTo(2);
+
+        // When
+        underTest.evictExpired();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @DisplayName("Should re-read the events changed on another node and drop those deleted there")
+    @Test
+    public void refresh_whenEventsChangedElsewhere_ShouldReloadThem() {
+        // Given
+        underTest.on(change(EventChange.Type.CREATED, 1L, NOW.plusDays(1), 0L));
+        underTest.on(change(EventChange.Type.CREATED, 2L, NOW.plusDays(2), 0L));
+        given(eventRepository.findAllDetachedById(List.of(1L, 2L))).willReturn(List.of(event(1L, NOW.plusDays(3), 1L)));
+
+        // When
+        underTest.refresh(List.of(1L, 2L));
+
+        // Then
+        assertThat(underTest.page(null, null, 10).getContent())
+                .extracting(Event::getId, Event::getDate)
+                .containsExactly(tuple(1L, NOW.plusDays(3)));
+    }
+
+    @DisplayName("Should reload the whole view and drop the events no longer upcoming")
+    @Test
+    public void rebuild_whenChangesWereMissed_ShouldMatchTheDatabase() {
+        // Given
+        underTest.on(change(EventChange.Type.CREATED, 1L, NOW.plusDays(1), 0L));
+        underTest.on(change(EventChange.Type.CREATED, 2L, NOW.plusDays(2), 0L));
+        clock.advance(Duration.ofSeconds(1));
+        given(eventRepository.findUpcoming(NOW.plusSeconds(1))).willReturn(List.of(
+                event(2L, NOW.plusDays(2), 0L),
+                event(3L, NOW.plusDays(3), 0L)));
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        assertThat(underTest.page(null, null, 10).getContent()).extracting(Event::getId).containsExactly(2L, 3L);
+        assertThat(underTest.size()).isEqualTo(2);
+    }
+
+    private static Event event(Long id, LocalDateTime date, Long version) {
+        return Event.builder().id(id).name("Concert " + id).description("Concert number " + id).date(date).version(version).build();
+    }
+
+    private static EventChange change(EventChange.Type type, Long id, LocalDateTime date, Long version) {
+        final Event event = event(id, date, version);
+        return type == EventChange.Type.CREATED ? EventChange.created(event) : EventChange.updated(event);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}